@@ -1,5 +1,6 @@
 package dev.sharanggupta.account;
 
+import dev.sharanggupta.account.config.CustomerDetailsProperties;
 import dev.sharanggupta.account.dto.AccountContactInfoDto;
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
@@ -14,7 +15,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 @SpringBootApplication
 @EnableJpaAuditing(auditorAwareRef = "auditAwareImpl")
-@EnableConfigurationProperties(value = AccountContactInfoDto.class)
+@EnableConfigurationProperties(value = {AccountContactInfoDto.class, CustomerDetailsProperties.class})
 @EnableFeignClients
 @OpenAPIDefinition(
     info =
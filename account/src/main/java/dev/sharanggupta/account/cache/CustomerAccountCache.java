@@ -0,0 +1,61 @@
+package dev.sharanggupta.account.cache;
+
+import dev.sharanggupta.account.repository.CustomerAccount;
+import dev.sharanggupta.account.repository.CustomerRepository;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache of customer/account pairs keyed by mobile number. Entries handed out here
+ * are shared between requests and must only be read; write paths go to {@link CustomerRepository}
+ * directly and call {@link #evict(String)} afterwards.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerAccountCache {
+  public static final String CACHE_NAME = "customerAccounts";
+
+  private final CustomerRepository customerRepository;
+  private final CacheManager cacheManager;
+  private final ApplicationEventPublisher applicationEventPublisher;
+  private final BusProperties busProperties;
+  private final Destination.Factory destinationFactory;
+
+  @Value("${spring.application.name}")
+  private String applicationName;
+
+  @Cacheable(cacheNames = CACHE_NAME, key = "#mobileNumber", unless = "#result == null")
+  public Optional<CustomerAccount> find(String mobileNumber) {
+    return customerRepository.findCustomerAccountByMobileNumber(mobileNumber);
+  }
+
+  /** Evicts the entry locally and on every other replica of this service. */
+  public void evict(String mobileNumber) {
+    applicationEventPublisher.publishEvent(
+        new CustomerAccountEvictedEvent(
+            this,
+            busProperties.getId(),
+            destinationFactory.getDestination(applicationName + ":**"),
+            mobileNumber));
+  }
+
+  @EventListener
+  public void onCustomerAccountEvicted(CustomerAccountEvictedEvent event) {
+    log.debug("Evicting cached customer account for mobile number {}", event.getMobileNumber());
+    Cache cache = cacheManager.getCache(CACHE_NAME);
+    if (cache != null) {
+      cache.evict(event.getMobileNumber());
+    }
+  }
+}
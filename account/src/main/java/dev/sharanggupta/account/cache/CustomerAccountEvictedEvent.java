@@ -0,0 +1,21 @@
+package dev.sharanggupta.account.cache;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/** Broadcast over the bus so every account replica drops its cached entry for a customer. */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CustomerAccountEvictedEvent extends RemoteApplicationEvent {
+  private String mobileNumber;
+
+  public CustomerAccountEvictedEvent(
+      Object source, String originService, Destination destination, String mobileNumber) {
+    super(source, originService, destination);
+    this.mobileNumber = mobileNumber;
+  }
+}
@@ -4,7 +4,10 @@ import dev.sharanggupta.account.dto.CardDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import java.util.List;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
@@ -12,4 +15,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 public interface CardFeignClient {
     @GetMapping(value = "/api/fetch", consumes = MediaType.APPLICATION_JSON_VALUE)
     ResponseEntity<CardDto> fetchCard(@RequestParam String mobileNumber, @RequestHeader("eazybank-correlation-id") String correlationId);
+
+    @PostMapping(value = "/api/fetch-batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<List<CardDto>> fetchCards(@RequestBody List<String> mobileNumbers, @RequestHeader("eazybank-correlation-id") String correlationId);
 }
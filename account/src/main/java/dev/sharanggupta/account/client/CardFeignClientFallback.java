@@ -1,6 +1,7 @@
 package dev.sharanggupta.account.client;
 
 import dev.sharanggupta.account.dto.CardDto;
+import java.util.List;
 import org.springframework.http.ResponseEntity;
 
 public class CardFeignClientFallback implements CardFeignClient{
@@ -8,4 +9,9 @@ public class CardFeignClientFallback implements CardFeignClient{
     public ResponseEntity<CardDto> fetchCard(String mobileNumber, String correlationId) {
         return null;
     }
+
+    @Override
+    public ResponseEntity<List<CardDto>> fetchCards(List<String> mobileNumbers, String correlationId) {
+        return null;
+    }
 }
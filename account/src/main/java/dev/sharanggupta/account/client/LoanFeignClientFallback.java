@@ -1,6 +1,7 @@
 package dev.sharanggupta.account.client;
 
 import dev.sharanggupta.account.dto.LoanDto;
+import java.util.List;
 import org.springframework.http.ResponseEntity;
 
 public class LoanFeignClientFallback implements LoanFeignClient{
@@ -8,4 +9,9 @@ public class LoanFeignClientFallback implements LoanFeignClient{
     public ResponseEntity<LoanDto> fetchLoan(String mobileNumber, String correlationId) {
         return null;
     }
+
+    @Override
+    public ResponseEntity<List<LoanDto>> fetchLoans(List<String> mobileNumbers, String correlationId) {
+        return null;
+    }
 }
@@ -0,0 +1,169 @@
+package dev.sharanggupta.account.client;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks two instances at random and sends the request to the one with the lower peak-EWMA cost,
+ * which is its moving average latency times the number of requests it has in flight plus one. A
+ * latency above the average replaces it immediately, so an instance that stalls (a GC pause, a
+ * saturated connection pool) loses traffic on its next response rather than after many of them,
+ * and the average decays while no responses arrive so the instance is tried again later. The
+ * balancer learns about requests through its {@link LoadBalancerLifecycle} callbacks, which the
+ * Feign load balancer client invokes around every call.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PeakEwmaLoadBalancer
+    implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+  private static final long DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+  private static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+  private final String serviceId;
+  private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+  @Override
+  public Mono<Response<ServiceInstance>> choose(Request request) {
+    ServiceInstanceListSupplier supplier =
+        serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+    return supplier.get(request).next().map(this::choose);
+  }
+
+  Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+    if (instances.isEmpty()) {
+      log.warn("No servers available for service: {}", serviceId);
+      return new EmptyResponse();
+    }
+    if (stats.size() > 2 * instances.size()) {
+      stats.keySet().retainAll(instances.stream().map(PeakEwmaLoadBalancer::key).toList());
+    }
+    if (instances.size() == 1) {
+      return new DefaultResponse(instances.get(0));
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(instances.size());
+    int second = random.nextInt(instances.size() - 1);
+    if (second >= first) {
+      second++;
+    }
+    long now = System.nanoTime();
+    ServiceInstance a = instances.get(first);
+    ServiceInstance b = instances.get(second);
+    return new DefaultResponse(stats(a).cost(now) <= stats(b).cost(now) ? a : b);
+  }
+
+  @Override
+  public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+    return RequestDataContext.class.isAssignableFrom(requestContextClass)
+        && ResponseData.class.isAssignableFrom(responseClass)
+        && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+  }
+
+  @Override
+  public void onStart(Request<RequestDataContext> request) {}
+
+  @Override
+  public void onStartRequest(
+      Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+    if (!lbResponse.hasServer()) {
+      return;
+    }
+    if (request.getContext() != null) {
+      request.getContext().setRequestStartTime(System.nanoTime());
+    }
+    stats(lbResponse.getServer()).inFlight.incrementAndGet();
+  }
+
+  @Override
+  public void onComplete(
+      CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+    Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+    if (lbResponse == null || !lbResponse.hasServer()) {
+      return;
+    }
+    InstanceStats instanceStats = stats(lbResponse.getServer());
+    instanceStats.inFlight.decrementAndGet();
+    if (completionContext.status() == CompletionContext.Status.DISCARD) {
+      // Cancelled: its truncated latency says nothing about the instance.
+      return;
+    }
+    RequestDataContext context =
+        completionContext.getLoadBalancerRequest() == null
+            ? null
+            : completionContext.getLoadBalancerRequest().getContext();
+    if (context == null || context.getRequestStartTime() == 0) {
+      return;
+    }
+    long now = System.nanoTime();
+    long latency = now - context.getRequestStartTime();
+    ResponseData response = completionContext.getClientResponse();
+    boolean failed =
+        completionContext.status() == CompletionContext.Status.FAILED
+            || (response != null
+                && response.getHttpStatus() != null
+                && response.getHttpStatus().is5xxServerError());
+    instanceStats.observe(failed ? Math.max(latency, FAILURE_PENALTY_NANOS) : latency, now);
+  }
+
+  private InstanceStats stats(ServiceInstance instance) {
+    return stats.computeIfAbsent(key(instance), k -> new InstanceStats());
+  }
+
+  private static String key(ServiceInstance instance) {
+    return instance.getHost() + ':' + instance.getPort();
+  }
+
+  static class InstanceStats {
+    final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double ewma;
+    private volatile long stamp = System.nanoTime();
+
+    synchronized void observe(long latency, long now) {
+      double weight = weight(now);
+      ewma = latency > ewma ? latency : ewma * weight + latency * (1 - weight);
+      stamp = now;
+    }
+
+    double cost(long now) {
+      int pending = inFlight.get();
+      double latency = decayed(now);
+      if (latency == 0 && pending > 0) {
+        // Requests are in flight but none has come back yet, so assume the worst.
+        return FAILURE_PENALTY_NANOS + pending;
+      }
+      return latency * (pending + 1);
+    }
+
+    private double decayed(long now) {
+      return ewma * weight(now);
+    }
+
+    private double weight(long now) {
+      return Math.exp(-(double) Math.max(0, now - stamp) / DECAY_NANOS);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package dev.sharanggupta.account.client;
+
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load balancer client configuration, registered in each service's child context through {@code
+ * @LoadBalancerClients}. It is deliberately not a {@code @Configuration} class so that component
+ * scanning does not pick it up for the main context.
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+  @Bean
+  public PeakEwmaLoadBalancer peakEwmaLoadBalancer(
+      Environment environment, LoadBalancerClientFactory loadBalancerClientFactory) {
+    String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+    return new PeakEwmaLoadBalancer(
+        loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+        serviceId);
+  }
+}
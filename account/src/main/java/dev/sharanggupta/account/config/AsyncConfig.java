@@ -0,0 +1,35 @@
+package dev.sharanggupta.account.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+  @Bean("customerDetailsExecutor")
+  @ConditionalOnThreading(Threading.PLATFORM)
+  public AsyncTaskExecutor customerDetailsExecutor(CustomerDetailsProperties properties) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(properties.getPoolSize());
+    executor.setMaxPoolSize(properties.getPoolSize());
+    // Rejects with TaskRejectedException once the queue is full.
+    executor.setQueueCapacity(properties.getQueueCapacity());
+    executor.setThreadNamePrefix("customer-details-");
+    executor.initialize();
+    return executor;
+  }
+
+  /** With spring.threads.virtual.enabled on Java 21+, every fan-out leg gets its own virtual thread. */
+  @Bean("customerDetailsExecutor")
+  @ConditionalOnThreading(Threading.VIRTUAL)
+  public AsyncTaskExecutor virtualThreadCustomerDetailsExecutor() {
+    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("customer-details-");
+    executor.setVirtualThreads(true);
+    return executor;
+  }
+}
@@ -0,0 +1,11 @@
+package dev.sharanggupta.account.config;
+
+import dev.sharanggupta.account.cache.CustomerAccountEvictedEvent;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+@RemoteApplicationEventScan(basePackageClasses = CustomerAccountEvictedEvent.class)
+public class CacheConfig {}
@@ -0,0 +1,27 @@
+package dev.sharanggupta.account.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "customer-details")
+@Getter
+@Setter
+public class CustomerDetailsProperties {
+
+  /** Fetch the account, card and loan legs concurrently instead of one after the other. */
+  private boolean parallel = true;
+
+  private Duration accountTimeout = Duration.ofSeconds(2);
+  private Duration cardTimeout = Duration.ofSeconds(2);
+  private Duration loanTimeout = Duration.ofSeconds(2);
+
+  private int poolSize = 16;
+
+  /**
+   * Legs waiting for a pool thread. Past that the legs of a request are skipped, as if they had
+   * timed out, instead of queueing behind legs that were given up on but are still running.
+   */
+  private int queueCapacity = 64;
+}
@@ -1,6 +1,9 @@
 package dev.sharanggupta.account.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.sharanggupta.account.dto.AccountContactInfoDto;
+import dev.sharanggupta.account.dto.BulkCreateResponseDto;
 import dev.sharanggupta.account.dto.CustomerDto;
 import dev.sharanggupta.account.dto.ErrorResponseDto;
 import dev.sharanggupta.account.dto.ResponseDto;
@@ -13,6 +16,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
+import java.io.IOException;
+import java.io.InputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -33,6 +38,7 @@ public class AccountController {
 
   private final AccountService accountService;
   private final AccountContactInfoDto accountContactInfoDto;
+  private final ObjectMapper objectMapper;
 
   @Operation(
       summary = "Create Account REST API",
@@ -53,6 +59,28 @@ public class AccountController {
                 String.valueOf(HttpStatus.CREATED.value()), HttpStatus.CREATED.getReasonPhrase()));
   }
 
+  @Operation(
+      summary = "Bulk Create Account REST API",
+      description =
+          "REST API to create Customers & Accounts from a JSON array or newline-delimited JSON stream of customers")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+    @ApiResponse(
+        responseCode = "400",
+        description = "HTTP Bad Request",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @PostMapping(
+      value = "/create-batch",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public ResponseEntity<BulkCreateResponseDto> createAccounts(InputStream customers)
+      throws IOException {
+    try (MappingIterator<CustomerDto> customerDtos =
+        objectMapper.readerFor(CustomerDto.class).readValues(customers)) {
+      return ResponseEntity.ok().body(accountService.createAccounts(customerDtos));
+    }
+  }
+
   @Operation(
       summary = "Fetch Account Details REST API",
       description = "REST API to fetch Customer & Account details based on a mobile number")
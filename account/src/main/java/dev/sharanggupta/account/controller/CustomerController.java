@@ -9,8 +9,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -49,4 +51,24 @@ public class CustomerController {
     CustomerDetailsDto customerDetailsDto = customerService.fetchCustomerDetails(mobileNumber, correlationId);
     return ResponseEntity.status(HttpStatus.OK).body(customerDetailsDto);
   }
+
+  @Operation(
+          summary = "Fetch Customer Details in Bulk REST API",
+          description = "REST API to fetch Customer details for a list of mobile numbers")
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+          @ApiResponse(
+                  responseCode = "400",
+                  description = "HTTP Bad Request",
+                  content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @PostMapping("/fetch-batch")
+  public ResponseEntity<List<CustomerDetailsDto>> fetchCustomerDetailsBatch(@RequestHeader("eazybank-correlation-id") String correlationId,
+          @RequestBody @NotEmpty(message = "Mobile numbers can not be empty")
+          @Size(max = 500, message = "At most 500 mobile numbers can be fetched at once")
+          List<@Pattern(regexp = "[0-9]{10}", message = "Mobile number must be 10 digits") String> mobileNumbers) {
+    log.debug("correlationId: {}", correlationId);
+    List<CustomerDetailsDto> customerDetails = customerService.fetchCustomerDetailsBatch(mobileNumbers, correlationId);
+    return ResponseEntity.status(HttpStatus.OK).body(customerDetails);
+  }
 }
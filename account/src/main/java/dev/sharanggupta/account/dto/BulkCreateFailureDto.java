@@ -0,0 +1,20 @@
+package dev.sharanggupta.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(name = "BulkCreateFailure", description = "Schema to hold a row rejected by a bulk create")
+public class BulkCreateFailureDto {
+
+  @Schema(description = "Zero-based position of the row in the request", example = "42")
+  private int index;
+
+  @Schema(description = "Mobile Number of the rejected customer", example = "9234567890")
+  private String mobileNumber;
+
+  @Schema(description = "Reason the row was rejected")
+  private String errorMessage;
+}
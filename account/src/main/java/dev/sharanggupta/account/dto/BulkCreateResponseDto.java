@@ -0,0 +1,20 @@
+package dev.sharanggupta.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+@Data
+@Schema(name = "BulkCreateResponse", description = "Schema to hold the outcome of a bulk create")
+public class BulkCreateResponseDto {
+
+  @Schema(description = "Number of rows read from the request", example = "10000")
+  private int received;
+
+  @Schema(description = "Number of customers & accounts created", example = "9998")
+  private int created;
+
+  @Schema(description = "Rows that could not be created")
+  private List<BulkCreateFailureDto> failures = new ArrayList<>();
+}
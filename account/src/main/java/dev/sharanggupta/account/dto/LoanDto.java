@@ -1,5 +1,6 @@
 package dev.sharanggupta.account.dto;
 
+import dev.sharanggupta.account.money.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
@@ -11,10 +12,10 @@ import lombok.Data;
 public class LoanDto {
 
   @Schema(description = "Total Loan amount", example = "123456788761.05")
-  double totalAmount;
+  Money totalAmount;
 
   @Schema(description = "Amount paid back", example = "123456788761.05")
-  double amountPaid;
+  Money amountPaid;
 
   @Schema(description = "Mobile Number of the customer", example = "9234567890")
   @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
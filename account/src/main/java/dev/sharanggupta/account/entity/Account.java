@@ -3,7 +3,11 @@ package dev.sharanggupta.account.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 @Entity
 @Getter
@@ -11,7 +15,7 @@ import lombok.*;
 @ToString
 @AllArgsConstructor
 @NoArgsConstructor
-public class Account extends BaseEntity {
+public class Account extends BaseEntity implements Persistable<Long> {
   @Column(name = "customer_id")
   private Long customerId;
 
@@ -24,4 +28,28 @@ public class Account extends BaseEntity {
 
   @Column(name = "branch_address")
   private String branchAddress;
+
+  // Account numbers are assigned by the application, so Spring Data cannot tell a new account
+  // from its id alone and would otherwise merge (SELECT, then INSERT) on every save.
+  @Transient
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @ToString.Exclude
+  private boolean newAccount = true;
+
+  @Override
+  public Long getId() {
+    return accountNumber;
+  }
+
+  @Override
+  public boolean isNew() {
+    return newAccount;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.newAccount = false;
+  }
 }
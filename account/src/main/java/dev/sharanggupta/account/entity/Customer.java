@@ -14,7 +14,8 @@ import lombok.ToString;
 public class Customer extends BaseEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+  @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = 50)
   @Column(name = "customer_id")
   private Long customerId;
 
@@ -0,0 +1,13 @@
+package dev.sharanggupta.account.repository;
+
+@FunctionalInterface
+public interface AccountNumberBlockRepository {
+
+  /**
+   * Reserves {@code blockSize} consecutive account numbers for the caller, in a transaction of its
+   * own. Call it while holding no connection.
+   *
+   * @return the first account number of the reserved block
+   */
+  long reserveBlock(int blockSize);
+}
@@ -0,0 +1,7 @@
+package dev.sharanggupta.account.repository;
+
+import dev.sharanggupta.account.entity.Account;
+import dev.sharanggupta.account.entity.Customer;
+
+/** A customer together with its account, loaded by a single join query. */
+public record CustomerAccount(Customer customer, Account account) {}
@@ -2,11 +2,26 @@ package dev.sharanggupta.account.repository;
 
 import dev.sharanggupta.account.entity.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
   Optional<Customer> findByMobileNumber(String mobileNumber);
+
+  @Query(
+      "select new dev.sharanggupta.account.repository.CustomerAccount(c, a) "
+          + "from Customer c join Account a on a.customerId = c.customerId "
+          + "where c.mobileNumber = :mobileNumber")
+  Optional<CustomerAccount> findCustomerAccountByMobileNumber(String mobileNumber);
+
+  @Query(
+      "select new dev.sharanggupta.account.repository.CustomerAccount(c, a) "
+          + "from Customer c join Account a on a.customerId = c.customerId "
+          + "where c.mobileNumber in :mobileNumbers")
+  List<CustomerAccount> findCustomerAccountsByMobileNumberIn(Collection<String> mobileNumbers);
 }
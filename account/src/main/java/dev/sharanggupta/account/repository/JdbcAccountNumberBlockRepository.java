@@ -0,0 +1,24 @@
+package dev.sharanggupta.account.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcAccountNumberBlockRepository implements AccountNumberBlockRepository {
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public long reserveBlock(int blockSize) {
+    Long start =
+        jdbcTemplate.queryForObject(
+            "SELECT next_value FROM account_number_sequence WHERE id = 1 FOR UPDATE", Long.class);
+    jdbcTemplate.update(
+        "UPDATE account_number_sequence SET next_value = next_value + ? WHERE id = 1", blockSize);
+    return start;
+  }
+}
@@ -0,0 +1,7 @@
+package dev.sharanggupta.account.service;
+
+public interface AccountNumberGenerator {
+
+  /** Returns an account number that has never been handed out before, by any instance. */
+  long nextAccountNumber();
+}
@@ -1,11 +1,15 @@
 package dev.sharanggupta.account.service;
 
+import dev.sharanggupta.account.dto.BulkCreateResponseDto;
 import dev.sharanggupta.account.dto.CustomerDto;
+import java.util.Iterator;
 
 public interface AccountService {
 
   void createAccount(CustomerDto customerDto);
 
+  BulkCreateResponseDto createAccounts(Iterator<CustomerDto> customerDtos);
+
   CustomerDto fetchAccount(String mobileNumber);
 
   void updateAccount(CustomerDto customerDto);
@@ -1,6 +1,12 @@
 package dev.sharanggupta.account.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import dev.sharanggupta.account.cache.CustomerAccountCache;
 import dev.sharanggupta.account.dto.AccountDto;
+import dev.sharanggupta.account.dto.BulkCreateFailureDto;
+import dev.sharanggupta.account.dto.BulkCreateResponseDto;
 import dev.sharanggupta.account.dto.CustomerDto;
 import dev.sharanggupta.account.entity.Account;
 import dev.sharanggupta.account.entity.Customer;
@@ -8,54 +14,135 @@ import dev.sharanggupta.account.exception.*;
 import dev.sharanggupta.account.mapper.AccountMapper;
 import dev.sharanggupta.account.mapper.CustomerMapper;
 import dev.sharanggupta.account.repository.AccountRepository;
+import dev.sharanggupta.account.repository.CustomerAccount;
 import dev.sharanggupta.account.repository.CustomerRepository;
-import java.util.Optional;
-import java.util.Random;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AccountServiceImpl implements AccountService {
   public static final String SAVINGS = "Savings";
   public static final String BRANCH_ADDRESS = "123 Main Street, New York";
+  private static final String MOBILE_NUMBER_CONSTRAINT = "uk_customer_mobile_number";
 
-  private static final Random RANDOM = new Random();
   private final AccountRepository accountRepository;
   private final CustomerRepository customerRepository;
+  private final CustomerAccountCache customerAccountCache;
+  private final AccountNumberGenerator accountNumberGenerator;
+  private final TransactionTemplate transactionTemplate;
+  private final Validator validator;
+
+  @Value("${bulk-create.chunk-size:500}")
+  private int bulkCreateChunkSize;
 
   @Override
   public void createAccount(CustomerDto customerDto) {
-    Customer customer = CustomerMapper.mapToCustomer(customerDto, new Customer());
-    Optional<Customer> existingCustomer =
-        customerRepository.findByMobileNumber(customer.getMobileNumber());
-    if (existingCustomer.isPresent()) {
-      throw new CustomerAlreadyExistsException(
-          "Customer already registered with given mobileNumber " + customerDto.getMobileNumber());
+    List<Long> accountNumbers = nextAccountNumbers(1);
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> persistCustomersWithAccounts(List.of(customerDto), accountNumbers));
+    } catch (DataIntegrityViolationException exception) {
+      if (isMobileNumberConflict(exception)) {
+        throw new CustomerAlreadyExistsException(
+            "Customer already registered with given mobileNumber " + customerDto.getMobileNumber());
+      }
+      throw exception;
     }
+  }
 
-    Customer savedCustomer = customerRepository.save(customer);
-    accountRepository.save(createNewAccount(savedCustomer));
+  /**
+   * Creates customers in chunks of {@code bulk-create.chunk-size}, each chunk in its own
+   * transaction so the inserts go out as JDBC batches. A chunk that hits a constraint violation is
+   * retried row by row to find the offending rows; the rest of the chunk is still created. A row
+   * that does not map to a customer is rejected on its own, while a request body that is no longer
+   * valid JSON stops the read: the rows before it are still created and the response says so.
+   */
+  @Override
+  public BulkCreateResponseDto createAccounts(Iterator<CustomerDto> customerDtos) {
+    BulkCreateResponseDto response = new BulkCreateResponseDto();
+    List<CustomerDto> chunk = new ArrayList<>(bulkCreateChunkSize);
+    List<Integer> chunkIndexes = new ArrayList<>(bulkCreateChunkSize);
+    int index = 0;
+    while (true) {
+      CustomerDto customerDto;
+      try {
+        if (!customerDtos.hasNext()) {
+          break;
+        }
+        customerDto = customerDtos.next();
+      } catch (RuntimeException exception) {
+        if (isUnmappableRow(exception)) {
+          response
+              .getFailures()
+              .add(new BulkCreateFailureDto(index++, null, readErrorMessage(exception)));
+          continue;
+        }
+        response
+            .getFailures()
+            .add(
+                new BulkCreateFailureDto(
+                    index++,
+                    null,
+                    "Malformed request body, the rows after this one were not read: "
+                        + readErrorMessage(exception)));
+        break;
+      }
+      Set<ConstraintViolation<CustomerDto>> violations = validator.validate(customerDto);
+      if (violations.isEmpty()) {
+        chunk.add(customerDto);
+        chunkIndexes.add(index);
+      } else {
+        response
+            .getFailures()
+            .add(
+                new BulkCreateFailureDto(
+                    index,
+                    customerDto.getMobileNumber(),
+                    violations.stream().map(ConstraintViolation::getMessage).toList().toString()));
+      }
+      index++;
+      if (chunk.size() == bulkCreateChunkSize) {
+        createChunk(chunk, chunkIndexes, response);
+        chunk.clear();
+        chunkIndexes.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      createChunk(chunk, chunkIndexes, response);
+    }
+    response.setReceived(index);
+    response.getFailures().sort(Comparator.comparingInt(BulkCreateFailureDto::getIndex));
+    return response;
   }
 
   @Override
   public CustomerDto fetchAccount(String mobileNumber) {
-    Customer customer =
-        customerRepository
-            .findByMobileNumber(mobileNumber)
+    CustomerAccount customerAccount =
+        customerAccountCache
+            .find(mobileNumber)
             .orElseThrow(
                 () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
-    Account account =
-        accountRepository
-            .findByCustomerId(customer.getCustomerId())
-            .orElseThrow(
-                () ->
-                    new ResourceNotFoundException(
-                        "Account", "customerId", customer.getCustomerId().toString()));
 
-    CustomerDto customerDto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
-    customerDto.setAccountDto(AccountMapper.mapToAccountDto(account, new AccountDto()));
+    CustomerDto customerDto =
+        CustomerMapper.mapToCustomerDto(customerAccount.customer(), new CustomerDto());
+    customerDto.setAccountDto(
+        AccountMapper.mapToAccountDto(customerAccount.account(), new AccountDto()));
     return customerDto;
   }
 
@@ -68,18 +155,20 @@ public class AccountServiceImpl implements AccountService {
               "Account details not populated for customer %s with mobile number %s",
               customerDto.getName(), customerDto.getMobileNumber()));
     }
-    Account account = retrieveExistingAccount(accountDto);
-    Customer customer = retrieveExistingCustomer(customerDto);
-    if (customer.getCustomerId().longValue() != account.getCustomerId().longValue()) {
+    CustomerAccount customerAccount = retrieveExistingCustomerAccount(customerDto.getMobileNumber());
+    Customer customer = customerAccount.customer();
+    Account account = customerAccount.account();
+    if (!account.getAccountNumber().equals(accountDto.getAccountNumber())) {
       throw new CustomerAccountMismatchException(
           String.format(
               "Account number %s provided do not match with customer records for customer %s with mobile number %s",
-              account.getAccountNumber(), customerDto.getName(), customerDto.getMobileNumber()));
+              accountDto.getAccountNumber(), customerDto.getName(), customerDto.getMobileNumber()));
     }
     AccountMapper.mapToAccount(accountDto, account);
     accountRepository.save(account);
 
     updateCustomer(customerDto, customer);
+    customerAccountCache.evict(customerDto.getMobileNumber());
   }
 
   @Override
@@ -95,6 +184,90 @@ public class AccountServiceImpl implements AccountService {
     } catch (DataAccessException exception) {
       throw new InternalServerException(exception.getCause(), exception.getMessage());
     }
+    customerAccountCache.evict(mobileNumber);
+  }
+
+  private void createChunk(
+      List<CustomerDto> chunk, List<Integer> chunkIndexes, BulkCreateResponseDto response) {
+    // Drawn before the transaction; rows retried one by one below reuse theirs.
+    List<Long> accountNumbers = nextAccountNumbers(chunk.size());
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> persistCustomersWithAccounts(chunk, accountNumbers));
+      response.setCreated(response.getCreated() + chunk.size());
+      return;
+    } catch (DataIntegrityViolationException exception) {
+      log.debug("Bulk create chunk rejected, retrying {} rows individually", chunk.size());
+    }
+    for (int i = 0; i < chunk.size(); i++) {
+      CustomerDto customerDto = chunk.get(i);
+      List<Long> accountNumber = List.of(accountNumbers.get(i));
+      try {
+        transactionTemplate.executeWithoutResult(
+            status -> persistCustomersWithAccounts(List.of(customerDto), accountNumber));
+        response.setCreated(response.getCreated() + 1);
+      } catch (DataIntegrityViolationException exception) {
+        String errorMessage =
+            isMobileNumberConflict(exception)
+                ? "Customer already registered with given mobileNumber " + customerDto.getMobileNumber()
+                : exception.getMostSpecificCause().getMessage();
+        response
+            .getFailures()
+            .add(new BulkCreateFailureDto(chunkIndexes.get(i), customerDto.getMobileNumber(), errorMessage));
+      }
+    }
+  }
+
+  /**
+   * Reserves account numbers outside of any transaction, so that a block reservation never waits
+   * for a connection while the caller holds one.
+   */
+  private List<Long> nextAccountNumbers(int count) {
+    List<Long> accountNumbers = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      accountNumbers.add(accountNumberGenerator.nextAccountNumber());
+    }
+    return accountNumbers;
+  }
+
+  private void persistCustomersWithAccounts(
+      List<CustomerDto> customerDtos, List<Long> accountNumbers) {
+    List<Customer> customers =
+        customerRepository.saveAll(
+            customerDtos.stream()
+                .map(customerDto -> CustomerMapper.mapToCustomer(customerDto, new Customer()))
+                .toList());
+    List<Account> accounts = new ArrayList<>(customers.size());
+    for (int i = 0; i < customers.size(); i++) {
+      accounts.add(createNewAccount(customers.get(i), accountNumbers.get(i)));
+    }
+    accountRepository.saveAll(accounts);
+    customerRepository.flush();
+  }
+
+  /**
+   * Whether the row was valid JSON that just does not map to a customer. Jackson also reports JSON
+   * that breaks off inside a row as a mapping error, but nothing after it can be read.
+   */
+  private static boolean isUnmappableRow(RuntimeException exception) {
+    return exception instanceof RuntimeJsonMappingException
+        && !(exception.getCause() != null
+            && exception.getCause().getCause() instanceof StreamReadException);
+  }
+
+  private static String readErrorMessage(RuntimeException exception) {
+    return exception.getCause() instanceof JsonProcessingException cause
+        ? cause.getOriginalMessage()
+        : exception.getMessage();
+  }
+
+  private boolean isMobileNumberConflict(DataIntegrityViolationException exception) {
+    return exception.getCause() instanceof ConstraintViolationException constraintViolation
+        && constraintViolation.getConstraintName() != null
+        && constraintViolation
+            .getConstraintName()
+            .toLowerCase(Locale.ROOT)
+            .contains(MOBILE_NUMBER_CONSTRAINT);
   }
 
   private void updateCustomer(CustomerDto customerDto, Customer customer) {
@@ -102,29 +275,16 @@ public class AccountServiceImpl implements AccountService {
     customerRepository.save(customer);
   }
 
-  private Account retrieveExistingAccount(AccountDto accountDto) {
-    Long accountNumber = accountDto.getAccountNumber();
-    return accountRepository
-        .findById(accountNumber)
-        .orElseThrow(
-            () ->
-                new ResourceNotFoundException(
-                    "Account", "AccountNumber", accountNumber.toString()));
-  }
-
-  private Customer retrieveExistingCustomer(CustomerDto customerDto) {
-    String mobileNumber = customerDto.getMobileNumber();
+  private CustomerAccount retrieveExistingCustomerAccount(String mobileNumber) {
     return customerRepository
-        .findByMobileNumber(mobileNumber)
-        .orElseThrow(() -> new ResourceNotFoundException("Customer", "MobileNumber", mobileNumber));
+        .findCustomerAccountByMobileNumber(mobileNumber)
+        .orElseThrow(() -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
   }
 
-  private Account createNewAccount(Customer customer) {
+  private Account createNewAccount(Customer customer, long accountNumber) {
     Account newAccount = new Account();
     newAccount.setCustomerId(customer.getCustomerId());
-    long randomAccNumber = 1000000000L + RANDOM.nextInt(900000000);
-
-    newAccount.setAccountNumber(randomAccNumber);
+    newAccount.setAccountNumber(accountNumber);
     newAccount.setAccountType(SAVINGS);
     newAccount.setBranchAddress(BRANCH_ADDRESS);
 
@@ -0,0 +1,63 @@
+package dev.sharanggupta.account.service;
+
+import dev.sharanggupta.account.repository.AccountNumberBlockRepository;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out account numbers from a block reserved in the database. Numbers within a block are
+ * claimed with a single atomic increment; only the thread that finds the block exhausted goes back
+ * to the database for the next one. That takes a connection of its own, so call it before opening a
+ * transaction: a caller holding a connection while it waits could exhaust the pool.
+ */
+@Component
+public class BlockAccountNumberGenerator implements AccountNumberGenerator {
+  private final AccountNumberBlockRepository accountNumberBlockRepository;
+  private final int blockSize;
+  // Not synchronized: a virtual thread waiting on a monitor during the reservation pins its carrier.
+  private final ReentrantLock reservationLock = new ReentrantLock();
+  private volatile Block block = new Block(0, 0);
+
+  public BlockAccountNumberGenerator(
+      AccountNumberBlockRepository accountNumberBlockRepository,
+      @Value("${account-number.block-size:100}") int blockSize) {
+    this.accountNumberBlockRepository = accountNumberBlockRepository;
+    this.blockSize = blockSize;
+  }
+
+  @Override
+  public long nextAccountNumber() {
+    while (true) {
+      Block current = block;
+      long accountNumber = current.next.getAndIncrement();
+      if (accountNumber < current.end) {
+        return accountNumber;
+      }
+      reserveNextBlock(current);
+    }
+  }
+
+  private void reserveNextBlock(Block exhausted) {
+    reservationLock.lock();
+    try {
+      if (block == exhausted) {
+        long start = accountNumberBlockRepository.reserveBlock(blockSize);
+        block = new Block(start, start + blockSize);
+      }
+    } finally {
+      reservationLock.unlock();
+    }
+  }
+
+  private static final class Block {
+    private final AtomicLong next;
+    private final long end;
+
+    private Block(long start, long end) {
+      this.next = new AtomicLong(start);
+      this.end = end;
+    }
+  }
+}
@@ -1,8 +1,11 @@
 package dev.sharanggupta.account.service;
 
 import dev.sharanggupta.account.dto.CustomerDetailsDto;
+import java.util.List;
 
 public interface CustomerService {
 
     CustomerDetailsDto fetchCustomerDetails(String mobileNumber, String correlationId);
+
+    List<CustomerDetailsDto> fetchCustomerDetailsBatch(List<String> mobileNumbers, String correlationId);
 }
@@ -1,29 +1,45 @@
 package dev.sharanggupta.account.service;
 
+import dev.sharanggupta.account.cache.CustomerAccountCache;
 import dev.sharanggupta.account.client.CardFeignClient;
 import dev.sharanggupta.account.client.LoanFeignClient;
+import dev.sharanggupta.account.config.CustomerDetailsProperties;
 import dev.sharanggupta.account.dto.AccountDto;
 import dev.sharanggupta.account.dto.CardDto;
 import dev.sharanggupta.account.dto.CustomerDetailsDto;
 import dev.sharanggupta.account.dto.LoanDto;
-import dev.sharanggupta.account.entity.Account;
-import dev.sharanggupta.account.entity.Customer;
+import dev.sharanggupta.account.exception.InternalServerException;
 import dev.sharanggupta.account.exception.ResourceNotFoundException;
 import dev.sharanggupta.account.mapper.AccountMapper;
 import dev.sharanggupta.account.mapper.CustomerMapper;
-import dev.sharanggupta.account.repository.AccountRepository;
+import dev.sharanggupta.account.repository.CustomerAccount;
 import dev.sharanggupta.account.repository.CustomerRepository;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 @Service
 @AllArgsConstructor
 public class CustomerServiceImpl implements CustomerService {
-  private AccountRepository accountRepository;
   private CustomerRepository customerRepository;
+  private CustomerAccountCache customerAccountCache;
   private CardFeignClient cardFeignClient;
   private LoanFeignClient loanFeignClient;
+  private CustomerDetailsProperties customerDetailsProperties;
+  private AsyncTaskExecutor customerDetailsExecutor;
 
   /**
    * @param mobileNumber - Input Mobile Number
@@ -31,33 +47,145 @@ public class CustomerServiceImpl implements CustomerService {
    */
   @Override
   public CustomerDetailsDto fetchCustomerDetails(String mobileNumber, String correlationId) {
-    Customer customer =
-        customerRepository
-            .findByMobileNumber(mobileNumber)
+    if (!customerDetailsProperties.isParallel()) {
+      CustomerDetailsDto customerDetailsDto = fetchCustomerAndAccount(mobileNumber);
+      customerDetailsDto.setLoansDto(fetchLoan(mobileNumber, correlationId));
+      customerDetailsDto.setCardsDto(fetchCard(mobileNumber, correlationId));
+      return customerDetailsDto;
+    }
+
+    // The account leg is a local lookup, so it runs on the caller when the executor is saturated.
+    CompletableFuture<CustomerDetailsDto> customerFuture =
+        supplyAsync(() -> fetchCustomerAndAccount(mobileNumber), () -> fetchCustomerAndAccount(mobileNumber))
+            .orTimeout(customerDetailsProperties.getAccountTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    CompletableFuture<LoanDto> loanFuture =
+        supplyAsync(() -> fetchLoan(mobileNumber, correlationId), () -> null)
+            .completeOnTimeout(null, customerDetailsProperties.getLoanTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    CompletableFuture<CardDto> cardFuture =
+        supplyAsync(() -> fetchCard(mobileNumber, correlationId), () -> null)
+            .completeOnTimeout(null, customerDetailsProperties.getCardTimeout().toMillis(), TimeUnit.MILLISECONDS);
+
+    try {
+      CustomerDetailsDto customerDetailsDto = customerFuture.join();
+      customerDetailsDto.setLoansDto(loanFuture.join());
+      customerDetailsDto.setCardsDto(cardFuture.join());
+      return customerDetailsDto;
+    } catch (CompletionException exception) {
+      // The loan and card legs are left to finish: a CompletableFuture cannot interrupt their Feign
+      // calls, so only the clients' read timeouts bound how long they keep their threads.
+      Throwable cause = exception.getCause();
+      if (cause instanceof TimeoutException) {
+        throw new InternalServerException(
+            cause, "Timed out fetching account details for mobile number " + mobileNumber);
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw exception;
+    }
+  }
+
+  /**
+   * @param mobileNumbers - Input Mobile Numbers
+   * @return Customer Details for every given mobileNumber that has a customer and account, in
+   *     input order
+   */
+  @Override
+  public List<CustomerDetailsDto> fetchCustomerDetailsBatch(
+      List<String> mobileNumbers, String correlationId) {
+    CompletableFuture<Map<String, LoanDto>> loanFuture =
+        this.<Map<String, LoanDto>>supplyAsync(
+                () -> fetchLoans(mobileNumbers, correlationId), Collections::emptyMap)
+            .completeOnTimeout(
+                Collections.emptyMap(),
+                customerDetailsProperties.getLoanTimeout().toMillis(),
+                TimeUnit.MILLISECONDS);
+    CompletableFuture<Map<String, CardDto>> cardFuture =
+        this.<Map<String, CardDto>>supplyAsync(
+                () -> fetchCards(mobileNumbers, correlationId), Collections::emptyMap)
+            .completeOnTimeout(
+                Collections.emptyMap(),
+                customerDetailsProperties.getCardTimeout().toMillis(),
+                TimeUnit.MILLISECONDS);
+
+    Map<String, CustomerAccount> customerAccounts =
+        customerRepository.findCustomerAccountsByMobileNumberIn(mobileNumbers).stream()
+            .collect(
+                Collectors.toMap(
+                    customerAccount -> customerAccount.customer().getMobileNumber(),
+                    Function.identity(),
+                    (first, second) -> first));
+    Map<String, LoanDto> loans = loanFuture.join();
+    Map<String, CardDto> cards = cardFuture.join();
+
+    List<CustomerDetailsDto> customerDetails = new ArrayList<>(customerAccounts.size());
+    for (String mobileNumber : mobileNumbers) {
+      CustomerAccount customerAccount = customerAccounts.get(mobileNumber);
+      if (customerAccount == null) {
+        continue;
+      }
+      CustomerDetailsDto customerDetailsDto = mapToCustomerDetailsDto(customerAccount);
+      customerDetailsDto.setLoansDto(loans.get(mobileNumber));
+      customerDetailsDto.setCardsDto(cards.get(mobileNumber));
+      customerDetails.add(customerDetailsDto);
+    }
+    return customerDetails;
+  }
+
+  /**
+   * Runs a leg on the customer details executor. Timing out a leg does not stop it, so a backend
+   * that stalls can fill the executor's queue; legs rejected then get {@code whenRejected} instead.
+   */
+  private <T> CompletableFuture<T> supplyAsync(Supplier<T> leg, Supplier<T> whenRejected) {
+    try {
+      return CompletableFuture.supplyAsync(leg, customerDetailsExecutor);
+    } catch (RejectedExecutionException exception) {
+      return CompletableFuture.completedFuture(whenRejected.get());
+    }
+  }
+
+  private CustomerDetailsDto fetchCustomerAndAccount(String mobileNumber) {
+    CustomerAccount customerAccount =
+        customerAccountCache
+            .find(mobileNumber)
             .orElseThrow(
                 () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
-    Account account =
-        accountRepository
-            .findByCustomerId(customer.getCustomerId())
-            .orElseThrow(
-                () ->
-                    new ResourceNotFoundException(
-                        "Account", "customerId", customer.getCustomerId().toString()));
+    return mapToCustomerDetailsDto(customerAccount);
+  }
 
+  private CustomerDetailsDto mapToCustomerDetailsDto(CustomerAccount customerAccount) {
     CustomerDetailsDto customerDetailsDto =
-        CustomerMapper.mapToCustomerDetailsDto(customer, new CustomerDetailsDto());
-    customerDetailsDto.setAccountsDto(AccountMapper.mapToAccountDto(account, new AccountDto()));
+        CustomerMapper.mapToCustomerDetailsDto(customerAccount.customer(), new CustomerDetailsDto());
+    customerDetailsDto.setAccountsDto(
+        AccountMapper.mapToAccountDto(customerAccount.account(), new AccountDto()));
+    return customerDetailsDto;
+  }
 
+  private LoanDto fetchLoan(String mobileNumber, String correlationId) {
     ResponseEntity<LoanDto> loansDtoResponseEntity = loanFeignClient.fetchLoan(mobileNumber, correlationId);
-    if(loansDtoResponseEntity != null){
-      customerDetailsDto.setLoansDto(loansDtoResponseEntity.getBody());
+    return loansDtoResponseEntity != null ? loansDtoResponseEntity.getBody() : null;
+  }
+
+  private Map<String, LoanDto> fetchLoans(List<String> mobileNumbers, String correlationId) {
+    ResponseEntity<List<LoanDto>> loansDtoResponseEntity = loanFeignClient.fetchLoans(mobileNumbers, correlationId);
+    if (loansDtoResponseEntity == null || loansDtoResponseEntity.getBody() == null) {
+      return Collections.emptyMap();
     }
+    return loansDtoResponseEntity.getBody().stream()
+        .collect(Collectors.toMap(LoanDto::getMobileNumber, Function.identity(), (first, second) -> first));
+  }
 
-    ResponseEntity<CardDto> cardsDtoResponseEntity = cardFeignClient.fetchCard(mobileNumber, correlationId);
-    if(cardsDtoResponseEntity != null){
-      customerDetailsDto.setCardsDto(cardsDtoResponseEntity.getBody());
+  private Map<String, CardDto> fetchCards(List<String> mobileNumbers, String correlationId) {
+    ResponseEntity<List<CardDto>> cardsDtoResponseEntity = cardFeignClient.fetchCards(mobileNumbers, correlationId);
+    if (cardsDtoResponseEntity == null || cardsDtoResponseEntity.getBody() == null) {
+      return Collections.emptyMap();
     }
+    return cardsDtoResponseEntity.getBody().stream()
+        .collect(Collectors.toMap(CardDto::getMobileNumber, Function.identity(), (first, second) -> first));
+  }
 
-    return customerDetailsDto;
+  private CardDto fetchCard(String mobileNumber, String correlationId) {
+    ResponseEntity<CardDto> cardsDtoResponseEntity = cardFeignClient.fetchCard(mobileNumber, correlationId);
+    return cardsDtoResponseEntity != null ? cardsDtoResponseEntity.getBody() : null;
   }
 }
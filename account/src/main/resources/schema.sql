@@ -6,16 +6,34 @@ create TABLE IF NOT EXISTS `customer` (
   `created_at` date NOT NULL,
   `created_by` varchar(20) NOT NULL,
   `updated_at` date DEFAULT NULL,
-  `updated_by` varchar(20) DEFAULT NULL
+  `updated_by` varchar(20) DEFAULT NULL,
+  UNIQUE KEY `uk_customer_mobile_number` (`mobile_number`)
 );
 
+create TABLE IF NOT EXISTS `customer_seq` (
+  `id` int PRIMARY KEY,
+  `next_val` bigint NOT NULL
+);
+
+insert IGNORE INTO `customer_seq` (`id`, `next_val`)
+  select 1, COALESCE(MAX(`customer_id`), 0) + 1 from `customer`;
+
 create TABLE IF NOT EXISTS `account` (
   `customer_id` int NOT NULL,
-  `account_number` int AUTO_INCREMENT  PRIMARY KEY,
+  `account_number` bigint PRIMARY KEY,
   `account_type` varchar(100) NOT NULL,
   `branch_address` varchar(200) NOT NULL,
   `created_at` date NOT NULL,
   `created_by` varchar(20) NOT NULL,
   `updated_at` date DEFAULT NULL,
-  `updated_by` varchar(20) DEFAULT NULL
-);
\ No newline at end of file
+  `updated_by` varchar(20) DEFAULT NULL,
+  KEY `idx_account_customer_id` (`customer_id`)
+);
+
+create TABLE IF NOT EXISTS `account_number_sequence` (
+  `id` int PRIMARY KEY,
+  `next_value` bigint NOT NULL
+);
+
+insert IGNORE INTO `account_number_sequence` (`id`, `next_value`)
+  select 1, GREATEST(1000000000, COALESCE(MAX(`account_number`), 0) + 1) from `account`;
@@ -0,0 +1,17 @@
+package dev.sharanggupta.account;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.sequence.NoSequenceSupport;
+import org.hibernate.dialect.sequence.SequenceSupport;
+
+/**
+ * MySQL has no sequences, so {@code schema.sql} creates {@code customer_seq} as the table Hibernate
+ * emulates them with there. Turning off H2's sequences makes Hibernate use that table on H2 too.
+ */
+public class H2TestDialect extends H2Dialect {
+
+  @Override
+  public SequenceSupport getSequenceSupport() {
+    return NoSequenceSupport.INSTANCE;
+  }
+}
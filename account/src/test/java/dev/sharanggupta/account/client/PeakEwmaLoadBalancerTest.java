@@ -0,0 +1,56 @@
+package dev.sharanggupta.account.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+class PeakEwmaLoadBalancerTest {
+
+  private final ServiceInstance slow =
+      new DefaultServiceInstance("card-1", "card", "10.0.0.1", 9000, false);
+  private final ServiceInstance fast =
+      new DefaultServiceInstance("card-2", "card", "10.0.0.2", 9000, false);
+  private final List<ServiceInstance> instances = List.of(slow, fast);
+  private final PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(null, "card");
+
+  @Test
+  void prefersTheInstanceWithLowerLatency() {
+    complete(slow, TimeUnit.MILLISECONDS.toNanos(500));
+    complete(fast, TimeUnit.MILLISECONDS.toNanos(20));
+
+    assertThat(loadBalancer.choose(instances).getServer()).isEqualTo(fast);
+  }
+
+  @Test
+  void aDiscardedRequestIsNoLongerInFlight() {
+    complete(slow, TimeUnit.MILLISECONDS.toNanos(500));
+    Request<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext());
+    Response<ServiceInstance> response = new DefaultResponse(fast);
+    loadBalancer.onStartRequest(request, response);
+    assertThat(loadBalancer.choose(instances).getServer()).isEqualTo(slow);
+
+    loadBalancer.onComplete(
+        new CompletionContext<>(CompletionContext.Status.DISCARD, request, response));
+
+    assertThat(loadBalancer.choose(instances).getServer()).isEqualTo(fast);
+  }
+
+  private void complete(ServiceInstance instance, long latencyNanos) {
+    Request<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext());
+    Response<ServiceInstance> response = new DefaultResponse(instance);
+    loadBalancer.onStartRequest(request, response);
+    request.getContext().setRequestStartTime(System.nanoTime() - latencyNanos);
+    loadBalancer.onComplete(
+        new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response));
+  }
+}
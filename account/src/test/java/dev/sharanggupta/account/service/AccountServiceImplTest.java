@@ -0,0 +1,203 @@
+package dev.sharanggupta.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.sharanggupta.account.audit.AuditAwareImpl;
+import dev.sharanggupta.account.cache.CustomerAccountCache;
+import dev.sharanggupta.account.controller.AccountController;
+import dev.sharanggupta.account.dto.AccountContactInfoDto;
+import dev.sharanggupta.account.dto.BulkCreateFailureDto;
+import dev.sharanggupta.account.dto.BulkCreateResponseDto;
+import dev.sharanggupta.account.dto.CustomerDto;
+import dev.sharanggupta.account.repository.AccountRepository;
+import dev.sharanggupta.account.repository.CustomerRepository;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.PathDestinationFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+@DataJpaTest(
+    properties = {
+      "spring.cloud.config.enabled=false",
+      "spring.datasource.url=jdbc:h2:mem:accountdb;MODE=MySQL",
+      "spring.test.database.replace=none",
+      "spring.jpa.database-platform=dev.sharanggupta.account.H2TestDialect",
+      "spring.jpa.hibernate.ddl-auto=none",
+      "bulk-create.chunk-size=3"
+    })
+@Import({
+  AccountServiceImpl.class,
+  CustomerAccountCache.class,
+  AccountServiceImplTest.BulkCreateTestConfig.class
+})
+// Run without a test transaction so every chunk commits on its own, as in production.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountServiceImplTest {
+
+  private static final String MOBILE_NUMBER = "9234567890";
+
+  @Autowired private AccountServiceImpl accountService;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private AccountRepository accountRepository;
+
+  private AccountController accountController;
+
+  @TestConfiguration
+  static class BulkCreateTestConfig {
+    // Named as @EnableJpaAuditing refers to it.
+    @Bean
+    AuditAwareImpl auditAwareImpl() {
+      return new AuditAwareImpl();
+    }
+
+    @Bean
+    AccountNumberGenerator accountNumberGenerator() {
+      return new AtomicLong(1_000_000_000L)::getAndIncrement;
+    }
+
+    @Bean
+    LocalValidatorFactoryBean validator() {
+      return new LocalValidatorFactoryBean();
+    }
+
+    @Bean
+    CacheManager cacheManager() {
+      return new ConcurrentMapCacheManager(CustomerAccountCache.CACHE_NAME);
+    }
+
+    @Bean
+    BusProperties busProperties() {
+      return new BusProperties();
+    }
+
+    @Bean
+    Destination.Factory destinationFactory() {
+      return new PathDestinationFactory();
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    accountRepository.deleteAll();
+    customerRepository.deleteAll();
+    accountService.createAccount(customer("Existing Customer", MOBILE_NUMBER));
+    accountController =
+        new AccountController(accountService, new AccountContactInfoDto(), new ObjectMapper());
+  }
+
+  @Test
+  void createsTheValidRowsOfAMixedBatchAndReportsTheOthers() {
+    BulkCreateResponseDto response =
+        accountService.createAccounts(
+            List.of(
+                    customer("First Customer", "9000000001"),
+                    customer("Known Customer", MOBILE_NUMBER),
+                    customer("Bad", "12345"),
+                    customer("Second Customer", "9000000002"),
+                    customer("Third Customer", "9000000003"))
+                .iterator());
+
+    assertThat(response.getReceived()).isEqualTo(5);
+    assertThat(response.getCreated()).isEqualTo(3);
+    assertThat(response.getFailures())
+        .extracting(BulkCreateFailureDto::getIndex, BulkCreateFailureDto::getMobileNumber)
+        .containsExactly(
+            tuple(1, MOBILE_NUMBER),
+            tuple(2, "12345"));
+    assertThat(response.getFailures().get(0).getErrorMessage())
+        .isEqualTo("Customer already registered with given mobileNumber " + MOBILE_NUMBER);
+    assertThat(response.getFailures().get(1).getErrorMessage())
+        .contains("Mobile number must be 10 digits", "The length of the customer name");
+    assertThat(customerRepository.count()).isEqualTo(4);
+    assertThat(accountRepository.count()).isEqualTo(4);
+  }
+
+  @Test
+  void rejectsTheSecondOfTwoRowsWithTheSameMobileNumberInOneChunk() {
+    BulkCreateResponseDto response =
+        accountService.createAccounts(
+            List.of(
+                    customer("First Customer", "9000000001"),
+                    customer("Second Customer", "9000000001"),
+                    customer("Third Customer", "9000000003"))
+                .iterator());
+
+    assertThat(response.getCreated()).isEqualTo(2);
+    assertThat(response.getFailures())
+        .extracting(BulkCreateFailureDto::getIndex)
+        .containsExactly(1);
+    assertThat(customerRepository.count()).isEqualTo(3);
+  }
+
+  @Test
+  void createsTheRowsOfAnNdjsonStreamAroundAnUnmappableRow() throws IOException {
+    BulkCreateResponseDto response =
+        createBatch(
+            """
+            {"name": "First Customer", "email": "first@example.com", "mobileNumber": "9000000001"}
+            {"name": "Known Customer", "email": "known@example.com", "mobileNumber": "9234567890"}
+            {"name": {"first": "Nested"}, "email": "nested@example.com", "mobileNumber": "9000000004"}
+            {"name": "Bad", "email": "not-an-email", "mobileNumber": "9000000005"}
+            {"name": "Second Customer", "email": "second@example.com", "mobileNumber": "9000000002"}
+            """);
+
+    assertThat(response.getReceived()).isEqualTo(5);
+    assertThat(response.getCreated()).isEqualTo(2);
+    assertThat(response.getFailures())
+        .extracting(BulkCreateFailureDto::getIndex)
+        .containsExactly(1, 2, 3);
+    assertThat(response.getFailures().get(1).getMobileNumber()).isNull();
+    assertThat(response.getFailures().get(2).getErrorMessage())
+        .contains("Email address should be a valid value");
+    assertThat(customerRepository.findByMobileNumber("9000000002")).isPresent();
+  }
+
+  @Test
+  void keepsTheRowsBeforeABodyThatStopsBeingJson() throws IOException {
+    BulkCreateResponseDto response =
+        createBatch(
+            """
+            {"name": "First Customer", "email": "first@example.com", "mobileNumber": "9000000001"}
+            {"name": "Second Customer", "email": "second@
+            """);
+
+    assertThat(response.getCreated()).isEqualTo(1);
+    assertThat(response.getFailures()).hasSize(1);
+    assertThat(response.getFailures().get(0).getIndex()).isEqualTo(1);
+    assertThat(response.getFailures().get(0).getErrorMessage())
+        .startsWith("Malformed request body, the rows after this one were not read");
+    assertThat(customerRepository.findByMobileNumber("9000000001")).isPresent();
+  }
+
+  private BulkCreateResponseDto createBatch(String body) throws IOException {
+    return accountController
+        .createAccounts(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)))
+        .getBody();
+  }
+
+  private static CustomerDto customer(String name, String mobileNumber) {
+    CustomerDto customerDto = new CustomerDto();
+    customerDto.setName(name);
+    customerDto.setEmail(name.toLowerCase().replace(' ', '.') + "@example.com");
+    customerDto.setMobileNumber(mobileNumber);
+    return customerDto;
+  }
+}
@@ -0,0 +1,62 @@
+package dev.sharanggupta.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.sharanggupta.account.repository.AccountNumberBlockRepository;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class BlockAccountNumberGeneratorTest {
+
+  private static final int THREADS = 32;
+  private static final int NUMBERS_PER_THREAD = 50_000;
+
+  @Test
+  void handsOutUniqueAccountNumbersUnderConcurrentCreates() throws InterruptedException {
+    AtomicLong sequence = new AtomicLong(1_000_000_000L);
+    AccountNumberBlockRepository blockRepository = blockSize -> sequence.getAndAdd(blockSize);
+    BlockAccountNumberGenerator generator = new BlockAccountNumberGenerator(blockRepository, 100);
+
+    Set<Long> accountNumbers = ConcurrentHashMap.newKeySet(THREADS * NUMBERS_PER_THREAD);
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    for (int i = 0; i < THREADS; i++) {
+      executor.submit(
+          () -> {
+            start.await();
+            for (int j = 0; j < NUMBERS_PER_THREAD; j++) {
+              accountNumbers.add(generator.nextAccountNumber());
+            }
+            return null;
+          });
+    }
+    start.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+    assertThat(accountNumbers)
+        .hasSize(THREADS * NUMBERS_PER_THREAD)
+        .allMatch(accountNumber -> accountNumber >= 1_000_000_000L && accountNumber < sequence.get());
+    assertThat(sequence.get() - 1_000_000_000L)
+        .isLessThanOrEqualTo(THREADS * NUMBERS_PER_THREAD + 100L);
+  }
+
+  @Test
+  void reservesANewBlockOnlyWhenTheCurrentOneIsExhausted() {
+    AtomicLong reservations = new AtomicLong();
+    AccountNumberBlockRepository blockRepository =
+        blockSize -> 1_000_000_000L + reservations.getAndIncrement() * blockSize;
+    BlockAccountNumberGenerator generator = new BlockAccountNumberGenerator(blockRepository, 10);
+
+    for (long expected = 1_000_000_000L; expected < 1_000_000_025L; expected++) {
+      assertThat(generator.nextAccountNumber()).isEqualTo(expected);
+    }
+    assertThat(reservations.get()).isEqualTo(3);
+  }
+}
@@ -0,0 +1,272 @@
+package dev.sharanggupta.account.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.sharanggupta.account.cache.CustomerAccountCache;
+import dev.sharanggupta.account.client.CardFeignClient;
+import dev.sharanggupta.account.client.CardFeignClientFallback;
+import dev.sharanggupta.account.client.LoanFeignClient;
+import dev.sharanggupta.account.config.CustomerDetailsProperties;
+import dev.sharanggupta.account.dto.CardDto;
+import dev.sharanggupta.account.dto.CustomerDetailsDto;
+import dev.sharanggupta.account.dto.LoanDto;
+import dev.sharanggupta.account.entity.Account;
+import dev.sharanggupta.account.entity.Customer;
+import dev.sharanggupta.account.exception.InternalServerException;
+import dev.sharanggupta.account.exception.ResourceNotFoundException;
+import dev.sharanggupta.account.repository.CustomerAccount;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class CustomerServiceImplTest {
+
+  private static final String MOBILE_NUMBER = "9234567890";
+  private static final Duration TIMEOUT = Duration.ofMillis(200);
+
+  private final CustomerDetailsProperties properties = new CustomerDetailsProperties();
+  private final Set<Thread> callers = ConcurrentHashMap.newKeySet();
+  // Released at the end of every test, so legs that were given up on do not outlive it.
+  private final CountDownLatch release = new CountDownLatch(1);
+  private ThreadPoolTaskExecutor executor;
+
+  @BeforeEach
+  void setUp() {
+    properties.setAccountTimeout(TIMEOUT);
+    properties.setCardTimeout(TIMEOUT);
+    properties.setLoanTimeout(TIMEOUT);
+    executor = executor(3);
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    executor.shutdown();
+  }
+
+  @Test
+  void fetchesTheThreeLegsConcurrently() {
+    // Each leg waits for the other two, so they only all finish when they run at the same time.
+    CountDownLatch allStarted = new CountDownLatch(3);
+    CustomerServiceImpl customerService =
+        customerService(
+            account(() -> awaitOthers(allStarted)),
+            card(() -> awaitOthers(allStarted)),
+            loan(() -> awaitOthers(allStarted)));
+
+    CustomerDetailsDto customerDetails = customerService.fetchCustomerDetails(MOBILE_NUMBER, "id");
+
+    assertThat(customerDetails.getAccountsDto().getAccountNumber()).isEqualTo(1_000_000_000L);
+    assertThat(customerDetails.getCardsDto().getCardNumber()).isEqualTo("1234567887654321");
+    assertThat(customerDetails.getLoansDto().getLoanNumber()).isEqualTo("123456789012");
+    assertThat(callers).hasSize(3).doesNotContain(Thread.currentThread());
+  }
+
+  @Test
+  void leavesOutTheCardAndLoanWhenTheyTimeOut() {
+    CustomerServiceImpl customerService =
+        customerService(account(() -> {}), card(this::stall), loan(this::stall));
+
+    long start = System.nanoTime();
+    CustomerDetailsDto customerDetails = customerService.fetchCustomerDetails(MOBILE_NUMBER, "id");
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(TIMEOUT.multipliedBy(5));
+    assertThat(customerDetails.getAccountsDto()).isNotNull();
+    assertThat(customerDetails.getCardsDto()).isNull();
+    assertThat(customerDetails.getLoansDto()).isNull();
+  }
+
+  @Test
+  void leavesOutACardThatFellBackAfterAFailure() {
+    CustomerServiceImpl customerService =
+        customerService(account(() -> {}), new CardFeignClientFallback(), loan(() -> {}));
+
+    CustomerDetailsDto customerDetails = customerService.fetchCustomerDetails(MOBILE_NUMBER, "id");
+
+    assertThat(customerDetails.getCardsDto()).isNull();
+    assertThat(customerDetails.getLoansDto()).isNotNull();
+  }
+
+  @Test
+  void failsWhenTheAccountTimesOutWithoutInterruptingTheOtherLegs() throws InterruptedException {
+    AtomicBoolean interrupted = new AtomicBoolean();
+    CountDownLatch cardFinished = new CountDownLatch(1);
+    CustomerServiceImpl customerService =
+        customerService(
+            account(this::stall),
+            card(
+                () -> {
+                  try {
+                    Thread.sleep(TIMEOUT.multipliedBy(2).toMillis());
+                  } catch (InterruptedException exception) {
+                    interrupted.set(true);
+                  }
+                  cardFinished.countDown();
+                }),
+            loan(() -> {}));
+
+    assertThatThrownBy(() -> customerService.fetchCustomerDetails(MOBILE_NUMBER, "id"))
+        .isInstanceOf(InternalServerException.class)
+        .hasCauseInstanceOf(TimeoutException.class);
+
+    assertThat(cardFinished.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(interrupted).isFalse();
+  }
+
+  @Test
+  void rethrowsTheFailureOfTheAccountLeg() {
+    CustomerServiceImpl customerService =
+        customerService(
+            account(
+                () -> {
+                  throw new ResourceNotFoundException("Customer", "mobileNumber", MOBILE_NUMBER);
+                }),
+            card(() -> {}),
+            loan(() -> {}));
+
+    assertThatThrownBy(() -> customerService.fetchCustomerDetails(MOBILE_NUMBER, "id"))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  void runsTheAccountOnTheCallerAndSkipsTheOtherLegsWhenTheExecutorIsSaturated()
+      throws InterruptedException {
+    executor.shutdown();
+    executor = executor(1);
+    CountDownLatch busy = new CountDownLatch(1);
+    executor.execute(
+        () -> {
+          busy.countDown();
+          stall();
+        });
+    assertThat(busy.await(5, TimeUnit.SECONDS)).isTrue();
+    CustomerServiceImpl customerService =
+        customerService(account(() -> {}), card(() -> {}), loan(() -> {}));
+
+    CustomerDetailsDto customerDetails = customerService.fetchCustomerDetails(MOBILE_NUMBER, "id");
+
+    assertThat(customerDetails.getAccountsDto()).isNotNull();
+    assertThat(customerDetails.getCardsDto()).isNull();
+    assertThat(customerDetails.getLoansDto()).isNull();
+    assertThat(callers).containsExactly(Thread.currentThread());
+  }
+
+  @Test
+  void fetchesTheLegsOneAfterTheOtherOnTheCallerWhenNotParallel() {
+    properties.setParallel(false);
+    CustomerServiceImpl customerService =
+        customerService(account(() -> {}), card(() -> {}), loan(() -> {}));
+
+    CustomerDetailsDto customerDetails = customerService.fetchCustomerDetails(MOBILE_NUMBER, "id");
+
+    assertThat(customerDetails.getAccountsDto()).isNotNull();
+    assertThat(customerDetails.getCardsDto()).isNotNull();
+    assertThat(customerDetails.getLoansDto()).isNotNull();
+    assertThat(callers).containsExactly(Thread.currentThread());
+    assertThat(executor.getThreadPoolExecutor().getCompletedTaskCount()).isZero();
+  }
+
+  private CustomerServiceImpl customerService(
+      CustomerAccountCache customerAccountCache,
+      CardFeignClient cardFeignClient,
+      LoanFeignClient loanFeignClient) {
+    return new CustomerServiceImpl(
+        null, customerAccountCache, cardFeignClient, loanFeignClient, properties, executor);
+  }
+
+  /** Without a queue, so legs are rejected as soon as every thread is busy. */
+  private static ThreadPoolTaskExecutor executor(int poolSize) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(0);
+    executor.initialize();
+    return executor;
+  }
+
+  private CustomerAccountCache account(Runnable behaviour) {
+    return new CustomerAccountCache(null, null, null, null, null) {
+      @Override
+      public Optional<CustomerAccount> find(String mobileNumber) {
+        callers.add(Thread.currentThread());
+        behaviour.run();
+        Customer customer = new Customer();
+        customer.setName("Example Customer");
+        customer.setMobileNumber(mobileNumber);
+        Account account = new Account();
+        account.setAccountNumber(1_000_000_000L);
+        return Optional.of(new CustomerAccount(customer, account));
+      }
+    };
+  }
+
+  private CardFeignClient card(Runnable behaviour) {
+    return new CardFeignClient() {
+      @Override
+      public ResponseEntity<CardDto> fetchCard(String mobileNumber, String correlationId) {
+        callers.add(Thread.currentThread());
+        behaviour.run();
+        CardDto cardDto = new CardDto();
+        cardDto.setMobileNumber(mobileNumber);
+        cardDto.setCardNumber("1234567887654321");
+        return ResponseEntity.ok(cardDto);
+      }
+
+      @Override
+      public ResponseEntity<List<CardDto>> fetchCards(
+          List<String> mobileNumbers, String correlationId) {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  private LoanFeignClient loan(Runnable behaviour) {
+    return new LoanFeignClient() {
+      @Override
+      public ResponseEntity<LoanDto> fetchLoan(String mobileNumber, String correlationId) {
+        callers.add(Thread.currentThread());
+        behaviour.run();
+        LoanDto loanDto = new LoanDto();
+        loanDto.setMobileNumber(mobileNumber);
+        loanDto.setLoanNumber("123456789012");
+        return ResponseEntity.ok(loanDto);
+      }
+
+      @Override
+      public ResponseEntity<List<LoanDto>> fetchLoans(
+          List<String> mobileNumbers, String correlationId) {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  private static void awaitOthers(CountDownLatch allStarted) {
+    allStarted.countDown();
+    try {
+      assertThat(allStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** A backend that does not answer until the test is over. */
+  private void stall() {
+    try {
+      release.await();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
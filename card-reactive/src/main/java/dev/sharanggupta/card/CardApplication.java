@@ -0,0 +1,17 @@
+package dev.sharanggupta.card;
+
+import dev.sharanggupta.card.dto.CardContactInfoDto;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+
+@EnableR2dbcAuditing(auditorAwareRef = "auditAwareImpl")
+@EnableConfigurationProperties(value = CardContactInfoDto.class)
+@SpringBootApplication
+public class CardApplication {
+
+  public static void main(String[] args) {
+    SpringApplication.run(CardApplication.class, args);
+  }
+}
@@ -0,0 +1,13 @@
+package dev.sharanggupta.card.audit;
+
+import org.springframework.data.domain.ReactiveAuditorAware;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+public class AuditAwareImpl implements ReactiveAuditorAware<String> {
+  @Override
+  public Mono<String> getCurrentAuditor() {
+    return Mono.just("CARD_MS");
+  }
+}
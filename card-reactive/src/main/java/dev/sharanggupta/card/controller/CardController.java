@@ -0,0 +1,185 @@
+package dev.sharanggupta.card.controller;
+
+import dev.sharanggupta.card.dto.CardChargeDto;
+import dev.sharanggupta.card.dto.CardContactInfoDto;
+import dev.sharanggupta.card.dto.CardDto;
+import dev.sharanggupta.card.dto.CardPortfolioDto;
+import dev.sharanggupta.card.dto.ErrorResponseDto;
+import dev.sharanggupta.card.dto.ResponseDto;
+import dev.sharanggupta.card.service.CardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Tag(
+    name = "CRUD REST APIs for Cards in EazyBank",
+    description = "CRUD REST APIs in EazyBank to CREATE, UPDATE, FETCH AND DELETE card details")
+@RequiredArgsConstructor
+@RestController
+@Validated
+@RequestMapping(path = "/api", produces = MediaType.APPLICATION_JSON_VALUE)
+public class CardController {
+
+  private final CardService cardService;
+  private final CardContactInfoDto cardContactInfoDto;
+
+  @Operation(summary = "Create Card REST API", description = "REST API to create new EazyBank Card")
+  @ApiResponses({
+    @ApiResponse(responseCode = "201", description = "HTTP Status CREATED"),
+    @ApiResponse(
+        responseCode = "400",
+        description = "HTTP Bad Request",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @PostMapping("/create")
+  public Mono<ResponseEntity<ResponseDto>> createCard(
+      @RequestParam @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
+          String mobileNumber) {
+    return cardService
+        .createCard(mobileNumber)
+        .then(
+            Mono.fromSupplier(
+                () ->
+                    ResponseEntity.status(HttpStatus.CREATED)
+                        .body(
+                            new ResponseDto(
+                                String.valueOf(HttpStatus.CREATED.value()),
+                                HttpStatus.CREATED.getReasonPhrase()))));
+  }
+
+  @Operation(
+      summary = "Fetch Card Details REST API",
+      description = "REST API to fetch card details based on a mobile number")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+    @ApiResponse(
+        responseCode = "404",
+        description = "HTTP Status Not Found",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @GetMapping("/fetch")
+  public Mono<ResponseEntity<CardDto>> fetchCard(
+      @RequestParam @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
+          String mobileNumber, @RequestHeader("eazybank-correlation-id") String correlationId) {
+    log.debug("correlationId: {}", correlationId);
+    return cardService.fetchCard(mobileNumber).map(cardDto -> ResponseEntity.ok().body(cardDto));
+  }
+
+  @Operation(
+      summary = "Fetch Card Details in Bulk REST API",
+      description = "REST API to fetch card details for a list of mobile numbers")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+    @ApiResponse(
+        responseCode = "400",
+        description = "HTTP Bad Request",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @PostMapping(value = "/fetch-batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<List<CardDto>>> fetchCards(
+      @RequestBody @NotEmpty(message = "Mobile numbers can not be empty")
+          @Size(max = 500, message = "At most 500 mobile numbers can be fetched at once")
+          List<@Pattern(regexp = "[0-9]{10}", message = "Mobile number must be 10 digits") String>
+              mobileNumbers,
+      @RequestHeader("eazybank-correlation-id") String correlationId) {
+    log.debug("correlationId: {}", correlationId);
+    return cardService
+        .fetchCards(mobileNumbers)
+        .collectList()
+        .map(cardDtos -> ResponseEntity.ok().body(cardDtos));
+  }
+
+  @Operation(
+      summary = "Update Card Details REST API",
+      description = "REST API to update card details")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+    @ApiResponse(responseCode = "400", description = "Bad Request")
+  })
+  @PutMapping("/update")
+  public Mono<ResponseEntity<ResponseDto>> updateCardDetails(@Valid @RequestBody CardDto cardDto) {
+    return cardService.updateCard(cardDto).then(Mono.fromSupplier(CardController::ok));
+  }
+
+  @Operation(
+      summary = "Charge Card REST API",
+      description = "REST API to charge an amount against the limit of a card")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+    @ApiResponse(
+        responseCode = "400",
+        description = "HTTP Bad Request",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))),
+    @ApiResponse(
+        responseCode = "404",
+        description = "HTTP Status Not Found",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @PostMapping(value = "/charge", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<ResponseDto>> chargeCard(
+      @Valid @RequestBody CardChargeDto cardChargeDto) {
+    return cardService.chargeCard(cardChargeDto).then(Mono.fromSupplier(CardController::ok));
+  }
+
+  @Operation(
+      summary = "Fetch Card Portfolio REST API",
+      description = "REST API to fetch the number of cards, total limit and amount used per card type")
+  @ApiResponse(responseCode = "200", description = "HTTP Status OK")
+  @GetMapping("/portfolio")
+  public Mono<ResponseEntity<List<CardPortfolioDto>>> fetchPortfolio() {
+    return cardService
+        .fetchPortfolio()
+        .collectList()
+        .map(portfolio -> ResponseEntity.ok().body(portfolio));
+  }
+
+  @Operation(
+      summary = "Delete card REST API",
+      description = "REST API to delete card based on a mobile number")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+    @ApiResponse(
+        responseCode = "404",
+        description = "HTTP Status Not Found",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @DeleteMapping("/delete")
+  public Mono<ResponseEntity<ResponseDto>> deleteCardDetails(
+      @RequestParam @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
+          String mobileNumber) {
+    return cardService.deleteCard(mobileNumber).then(Mono.fromSupplier(CardController::ok));
+  }
+
+  @Operation(
+          summary = "Fetch Contact Information REST API",
+          description = "REST API to fetch Contact Information")
+  @ApiResponse(responseCode = "200", description = "HTTP Status OK")
+  @GetMapping("/contact-info")
+  public Mono<ResponseEntity<CardContactInfoDto>> getContactInfo() {
+    return Mono.just(ResponseEntity.ok().body(cardContactInfoDto));
+  }
+
+  private static ResponseEntity<ResponseDto> ok() {
+    return ResponseEntity.ok()
+        .body(
+            new ResponseDto(
+                String.valueOf(HttpStatus.OK.value()), HttpStatus.OK.getReasonPhrase()));
+  }
+}
@@ -0,0 +1,22 @@
+package dev.sharanggupta.card.dto;
+
+import dev.sharanggupta.card.money.Money;
+import dev.sharanggupta.card.money.PositiveAmount;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Schema(name = "CardCharge", description = "Schema to hold a charge against a card")
+public class CardChargeDto {
+
+  @Schema(description = "Mobile Number of the customer", example = "9234567890")
+  @Pattern(regexp = "[0-9]{10}", message = "Mobile number must be 10 digits")
+  private String mobileNumber;
+
+  @Schema(description = "Amount to charge", example = "1250.50")
+  @NotNull(message = "Amount can not be null")
+  @PositiveAmount
+  private Money amount;
+}
@@ -0,0 +1,23 @@
+package dev.sharanggupta.card.entity;
+
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+
+@Getter
+@Setter
+@ToString
+public class BaseEntity {
+  @CreatedDate private LocalDateTime createdAt;
+
+  @CreatedBy private String createdBy;
+
+  @LastModifiedDate private LocalDateTime updatedAt;
+
+  @LastModifiedBy private String updatedBy;
+}
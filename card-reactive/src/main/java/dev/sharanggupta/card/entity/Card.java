@@ -0,0 +1,27 @@
+package dev.sharanggupta.card.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("card")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class Card extends BaseEntity {
+  String mobileNumber;
+  String cardNumber;
+  String cardType;
+
+  /** In minor units, see {@link dev.sharanggupta.card.money.Money}. */
+  long totalLimit;
+
+  /** In minor units, see {@link dev.sharanggupta.card.money.Money}. */
+  long amountUsed;
+
+  @Id private Long cardId;
+}
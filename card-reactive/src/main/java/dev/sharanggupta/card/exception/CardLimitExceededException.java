@@ -0,0 +1,11 @@
+package dev.sharanggupta.card.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class CardLimitExceededException extends RuntimeException {
+  public CardLimitExceededException(String mobileNumber) {
+    super("Charge exceeds the limit left on the card of mobileNumber " + mobileNumber);
+  }
+}
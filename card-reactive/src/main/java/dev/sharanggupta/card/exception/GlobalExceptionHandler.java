@@ -0,0 +1,102 @@
+package dev.sharanggupta.card.exception;
+
+import dev.sharanggupta.card.dto.ErrorResponseDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+@ControllerAdvice
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+  @ExceptionHandler(ResourceNotFoundException.class)
+  public ResponseEntity<ErrorResponseDto> handleResourceNotFoundException(
+      ResourceNotFoundException exception, ServerWebExchange exchange) {
+    ErrorResponseDto errorResponseDTO =
+        new ErrorResponseDto(
+            getDescription(exchange), HttpStatus.NOT_FOUND, exception.getMessage(), LocalDateTime.now());
+    return new ResponseEntity<>(errorResponseDTO, HttpStatus.NOT_FOUND);
+  }
+
+  @ExceptionHandler(CardAlreadyExistsException.class)
+  public ResponseEntity<ErrorResponseDto> handleCustomerAlreadyExistsException(
+      CardAlreadyExistsException exception, ServerWebExchange exchange) {
+    ErrorResponseDto errorResponseDTO =
+        new ErrorResponseDto(
+            getDescription(exchange), HttpStatus.BAD_REQUEST, exception.getMessage(), LocalDateTime.now());
+    return new ResponseEntity<>(errorResponseDTO, HttpStatus.BAD_REQUEST);
+  }
+
+  @ExceptionHandler(CardLimitExceededException.class)
+  public ResponseEntity<ErrorResponseDto> handleCardLimitExceededException(
+      CardLimitExceededException exception, ServerWebExchange exchange) {
+    ErrorResponseDto errorResponseDTO =
+        new ErrorResponseDto(
+            getDescription(exchange), HttpStatus.BAD_REQUEST, exception.getMessage(), LocalDateTime.now());
+    return new ResponseEntity<>(errorResponseDTO, HttpStatus.BAD_REQUEST);
+  }
+
+  @Override
+  protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(
+      WebExchangeBindException ex,
+      HttpHeaders headers,
+      HttpStatusCode status,
+      ServerWebExchange exchange) {
+    Map<String, String> validationErrors = new HashMap<>();
+
+    ex.getBindingResult()
+        .getAllErrors()
+        .forEach(
+            error -> {
+              String fieldName = ((FieldError) error).getField();
+              String validationMsg = error.getDefaultMessage();
+              validationErrors.put(fieldName, validationMsg);
+            });
+    return Mono.just(new ResponseEntity<>(validationErrors, HttpStatus.BAD_REQUEST));
+  }
+
+  @ExceptionHandler(ConstraintViolationException.class)
+  public ResponseEntity<Object> handleConstraintViolation(
+      ConstraintViolationException ex, ServerWebExchange exchange) {
+    List<String> validationErrors =
+        ex.getConstraintViolations().stream().map(ConstraintViolation::getMessage).toList();
+
+    ErrorResponseDto errorResponseDTO =
+        new ErrorResponseDto(
+            getDescription(exchange),
+            HttpStatus.BAD_REQUEST,
+            validationErrors.toString(),
+            LocalDateTime.now());
+    return new ResponseEntity<>(errorResponseDTO, HttpStatus.BAD_REQUEST);
+  }
+
+  @ExceptionHandler(Exception.class)
+  public ResponseEntity<ErrorResponseDto> handleGenericException(
+      Exception exception, ServerWebExchange exchange) {
+    ErrorResponseDto errorResponseDTO =
+        new ErrorResponseDto(
+            getDescription(exchange),
+            HttpStatus.INTERNAL_SERVER_ERROR,
+            exception.getMessage(),
+            LocalDateTime.now());
+    return new ResponseEntity<>(errorResponseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+  }
+
+  // Same shape as WebRequest#getDescription(false) in the servlet card service.
+  private static String getDescription(ServerWebExchange exchange) {
+    return "uri=" + exchange.getRequest().getPath().value();
+  }
+}
@@ -0,0 +1,14 @@
+package dev.sharanggupta.card.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@Slf4j
+@ResponseStatus(value = HttpStatus.INTERNAL_SERVER_ERROR)
+public class InternalServerException extends RuntimeException {
+  public InternalServerException(Throwable throwable, String cause) {
+    super(throwable.getMessage(), throwable);
+    log.error(cause, throwable);
+  }
+}
@@ -0,0 +1,31 @@
+package dev.sharanggupta.card.money;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/** The annotated {@link Money} must be greater than zero. {@code null} is considered valid. */
+@Documented
+@Constraint(validatedBy = PositiveAmount.Validator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.TYPE_USE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PositiveAmount {
+  String message() default "Amount must be greater than zero";
+
+  Class<?>[] groups() default {};
+
+  Class<? extends Payload>[] payload() default {};
+
+  class Validator implements ConstraintValidator<PositiveAmount, Money> {
+    @Override
+    public boolean isValid(Money value, ConstraintValidatorContext context) {
+      return value == null || value.isPositive();
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package dev.sharanggupta.card.repository;
+
+import dev.sharanggupta.card.entity.Card;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface CardRepository extends ReactiveCrudRepository<Card, Long> {
+  Mono<Card> findByMobileNumber(String mobileNumber);
+
+  Flux<Card> findByMobileNumberIn(Collection<String> mobileNumbers);
+
+  Mono<Boolean> existsByMobileNumber(String mobileNumber);
+
+  /**
+   * Adds {@code amount} minor units to the amount used of the card of a mobile number, provided the result
+   * stays within its limit. The check and the increment are one statement, so concurrent charges
+   * can neither lose updates nor overdraw the card.
+   *
+   * @return {@code 1} when the charge was applied, {@code 0} when the card does not exist or does
+   *     not have enough limit left
+   */
+  @Modifying
+  @Query(
+      """
+      UPDATE card SET amount_used = amount_used + :amount, updated_at = :updatedAt,
+        updated_by = :updatedBy
+      WHERE mobile_number = :mobileNumber AND amount_used + :amount <= total_limit""")
+  Mono<Integer> chargeByMobileNumber(
+      @Param("mobileNumber") String mobileNumber,
+      @Param("amount") long amount,
+      @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("updatedBy") String updatedBy);
+
+  @Query(
+      """
+      SELECT card_type, COUNT(*) AS cards, SUM(total_limit) AS total_limit,
+        SUM(amount_used) AS amount_used
+      FROM card
+      GROUP BY card_type
+      ORDER BY card_type""")
+  Flux<CardPortfolioTotal> findPortfolioTotals();
+}
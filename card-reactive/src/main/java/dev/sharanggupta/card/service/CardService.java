@@ -0,0 +1,25 @@
+package dev.sharanggupta.card.service;
+
+import dev.sharanggupta.card.dto.CardChargeDto;
+import dev.sharanggupta.card.dto.CardDto;
+import dev.sharanggupta.card.dto.CardPortfolioDto;
+import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface CardService {
+
+  Mono<Void> createCard(String mobileNumber);
+
+  Mono<CardDto> fetchCard(String mobileNumber);
+
+  Flux<CardDto> fetchCards(List<String> mobileNumbers);
+
+  Mono<Void> updateCard(CardDto cardDto);
+
+  Mono<Void> chargeCard(CardChargeDto cardChargeDto);
+
+  Flux<CardPortfolioDto> fetchPortfolio();
+
+  Mono<Void> deleteCard(String mobileNumber);
+}
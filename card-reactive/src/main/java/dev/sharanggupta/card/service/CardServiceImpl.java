@@ -0,0 +1,133 @@
+package dev.sharanggupta.card.service;
+
+import dev.sharanggupta.card.dto.CardChargeDto;
+import dev.sharanggupta.card.dto.CardDto;
+import dev.sharanggupta.card.dto.CardPortfolioDto;
+import dev.sharanggupta.card.entity.Card;
+import dev.sharanggupta.card.exception.CardAlreadyExistsException;
+import dev.sharanggupta.card.exception.CardLimitExceededException;
+import dev.sharanggupta.card.exception.InternalServerException;
+import dev.sharanggupta.card.exception.ResourceNotFoundException;
+import dev.sharanggupta.card.mapper.CardMapper;
+import dev.sharanggupta.card.money.Money;
+import dev.sharanggupta.card.repository.CardRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.ReactiveAuditorAware;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+@Service
+public class CardServiceImpl implements CardService {
+  private static final String MOBILE_NUMBER_CONSTRAINT = "uk_card_mobile_number";
+
+  private final CardRepository cardRepository;
+  private final ReactiveAuditorAware<String> auditorAware;
+
+  @Override
+  public Mono<Void> createCard(String mobileNumber) {
+    return cardRepository
+        .save(createNewCard(mobileNumber))
+        .onErrorMap(
+            DataIntegrityViolationException.class,
+            exception ->
+                isMobileNumberConflict(exception)
+                    ? new CardAlreadyExistsException(
+                        "Card already registered with given mobileNumber " + mobileNumber)
+                    : exception)
+        .then();
+  }
+
+  @Override
+  public Mono<CardDto> fetchCard(String mobileNumber) {
+    return findExistingCard(mobileNumber).map(card -> CardMapper.mapToCardDto(card, new CardDto()));
+  }
+
+  @Override
+  public Flux<CardDto> fetchCards(List<String> mobileNumbers) {
+    return cardRepository
+        .findByMobileNumberIn(mobileNumbers)
+        .map(card -> CardMapper.mapToCardDto(card, new CardDto()));
+  }
+
+  @Override
+  public Mono<Void> updateCard(CardDto cardDto) {
+    return findExistingCard(cardDto.getMobileNumber())
+        .flatMap(currentCard -> cardRepository.save(CardMapper.mapToCard(cardDto, currentCard)))
+        .then();
+  }
+
+  @Override
+  public Mono<Void> chargeCard(CardChargeDto cardChargeDto) {
+    String mobileNumber = cardChargeDto.getMobileNumber();
+    return auditorAware
+        .getCurrentAuditor()
+        .flatMap(
+            auditor ->
+                cardRepository.chargeByMobileNumber(
+                    mobileNumber,
+                    cardChargeDto.getAmount().minorUnits(),
+                    LocalDateTime.now(),
+                    auditor))
+        .filter(charged -> charged == 0)
+        .flatMap(notCharged -> cardRepository.existsByMobileNumber(mobileNumber))
+        .flatMap(
+            exists ->
+                Mono.<Void>error(
+                    exists
+                        ? new CardLimitExceededException(mobileNumber)
+                        : new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)));
+  }
+
+  @Override
+  public Flux<CardPortfolioDto> fetchPortfolio() {
+    return cardRepository
+        .findPortfolioTotals()
+        .map(
+            total ->
+                new CardPortfolioDto(
+                    total.cardType(),
+                    total.cards(),
+                    new Money(total.totalLimit()),
+                    new Money(total.amountUsed())));
+  }
+
+  @Override
+  public Mono<Void> deleteCard(String mobileNumber) {
+    return findExistingCard(mobileNumber)
+        .flatMap(card -> cardRepository.deleteById(card.getCardId()))
+        .onErrorMap(
+            DataAccessException.class,
+            exception -> new InternalServerException(exception.getCause(), exception.getMessage()));
+  }
+
+  private Mono<Card> findExistingCard(String mobileNumber) {
+    return cardRepository
+        .findByMobileNumber(mobileNumber)
+        .switchIfEmpty(
+            Mono.error(() -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)));
+  }
+
+  /** R2DBC exceptions carry no constraint name; only the message of the driver names it. */
+  private boolean isMobileNumberConflict(DataIntegrityViolationException exception) {
+    String message = exception.getMostSpecificCause().getMessage();
+    return message != null && message.toLowerCase(Locale.ROOT).contains(MOBILE_NUMBER_CONSTRAINT);
+  }
+
+  private Card createNewCard(String mobileNumber) {
+    Card newCard = new Card();
+    long randomCardNumber = (long) (Math.random() * 10000000000000000L);
+    newCard.setCardNumber(Long.toString(randomCardNumber));
+    newCard.setMobileNumber(mobileNumber);
+    newCard.setCardType("Credit Card");
+    newCard.setTotalLimit(1_00_000_00L);
+    newCard.setAmountUsed(0);
+    return newCard;
+  }
+}
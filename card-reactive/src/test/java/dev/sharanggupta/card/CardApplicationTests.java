@@ -0,0 +1,11 @@
+package dev.sharanggupta.card;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class CardApplicationTests {
+
+  @Test
+  void contextLoads() {}
+}
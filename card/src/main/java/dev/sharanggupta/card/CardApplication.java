@@ -1,5 +1,6 @@
 package dev.sharanggupta.card;
 
+import dev.sharanggupta.card.config.ChargeProperties;
 import dev.sharanggupta.card.dto.CardContactInfoDto;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -7,7 +8,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 @EnableJpaAuditing
-@EnableConfigurationProperties(value = CardContactInfoDto.class)
+@EnableConfigurationProperties(value = {CardContactInfoDto.class, ChargeProperties.class})
 @SpringBootApplication
 public class CardApplication {
 
@@ -0,0 +1,20 @@
+package dev.sharanggupta.card.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "charge")
+@Getter
+@Setter
+public class ChargeProperties {
+
+  /**
+   * Accept charges against an in-memory ledger and write them to the database in batches, instead
+   * of running one conditional update per charge. Only safe with a single instance of the service.
+   */
+  private boolean writeBehind = false;
+
+  private Duration flushInterval = Duration.ofMillis(100);
+}
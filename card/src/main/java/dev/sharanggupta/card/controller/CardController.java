@@ -1,7 +1,9 @@
 package dev.sharanggupta.card.controller;
 
+import dev.sharanggupta.card.dto.CardChargeDto;
 import dev.sharanggupta.card.dto.CardContactInfoDto;
 import dev.sharanggupta.card.dto.CardDto;
+import dev.sharanggupta.card.dto.CardPortfolioDto;
 import dev.sharanggupta.card.dto.ErrorResponseDto;
 import dev.sharanggupta.card.dto.ResponseDto;
 import dev.sharanggupta.card.service.CardService;
@@ -12,7 +14,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -71,6 +76,27 @@ public class CardController {
     return ResponseEntity.ok().body(cardService.fetchCard(mobileNumber));
   }
 
+  @Operation(
+      summary = "Fetch Card Details in Bulk REST API",
+      description = "REST API to fetch card details for a list of mobile numbers")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+    @ApiResponse(
+        responseCode = "400",
+        description = "HTTP Bad Request",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @PostMapping(value = "/fetch-batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<List<CardDto>> fetchCards(
+      @RequestBody @NotEmpty(message = "Mobile numbers can not be empty")
+          @Size(max = 500, message = "At most 500 mobile numbers can be fetched at once")
+          List<@Pattern(regexp = "[0-9]{10}", message = "Mobile number must be 10 digits") String>
+              mobileNumbers,
+      @RequestHeader("eazybank-correlation-id") String correlationId) {
+    log.debug("correlationId: {}", correlationId);
+    return ResponseEntity.ok().body(cardService.fetchCards(mobileNumbers));
+  }
+
   @Operation(
       summary = "Update Card Details REST API",
       description = "REST API to update card details")
@@ -87,6 +113,38 @@ public class CardController {
                 String.valueOf(HttpStatus.OK.value()), HttpStatus.OK.getReasonPhrase()));
   }
 
+  @Operation(
+      summary = "Charge Card REST API",
+      description = "REST API to charge an amount against the limit of a card")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+    @ApiResponse(
+        responseCode = "400",
+        description = "HTTP Bad Request",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))),
+    @ApiResponse(
+        responseCode = "404",
+        description = "HTTP Status Not Found",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @PostMapping(value = "/charge", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<ResponseDto> chargeCard(@Valid @RequestBody CardChargeDto cardChargeDto) {
+    cardService.chargeCard(cardChargeDto);
+    return ResponseEntity.ok()
+        .body(
+            new ResponseDto(
+                String.valueOf(HttpStatus.OK.value()), HttpStatus.OK.getReasonPhrase()));
+  }
+
+  @Operation(
+      summary = "Fetch Card Portfolio REST API",
+      description = "REST API to fetch the number of cards, total limit and amount used per card type")
+  @ApiResponse(responseCode = "200", description = "HTTP Status OK")
+  @GetMapping("/portfolio")
+  public ResponseEntity<List<CardPortfolioDto>> fetchPortfolio() {
+    return ResponseEntity.ok().body(cardService.fetchPortfolio());
+  }
+
   @Operation(
       summary = "Delete card REST API",
       description = "REST API to delete card based on a mobile number")
@@ -1,7 +1,9 @@
 package dev.sharanggupta.card.dto;
 
+import dev.sharanggupta.card.money.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -11,10 +13,12 @@ import lombok.Data;
 public class CardDto {
 
   @Schema(description = "Card limit", example = "123456788761.05")
-  double totalLimit;
+  @NotNull(message = "Card limit can not be null")
+  Money totalLimit;
 
   @Schema(description = "Amount Used", example = "123456788761.05")
-  double amountUsed;
+  @NotNull(message = "Amount used can not be null")
+  Money amountUsed;
 
   @Schema(description = "Mobile Number of the customer", example = "9234567890")
   @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
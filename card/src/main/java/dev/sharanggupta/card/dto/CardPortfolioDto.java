@@ -0,0 +1,24 @@
+package dev.sharanggupta.card.dto;
+
+import dev.sharanggupta.card.money.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(name = "CardPortfolio", description = "Schema to hold the totals of all cards of a type")
+public class CardPortfolioDto {
+
+  @Schema(description = "Type of the cards", example = "Credit Card")
+  private String cardType;
+
+  @Schema(description = "Number of cards", example = "1250")
+  private long cards;
+
+  @Schema(description = "Sum of the card limits", example = "125000000.00")
+  private Money totalLimit;
+
+  @Schema(description = "Sum of the amounts used", example = "5230411.75")
+  private Money amountUsed;
+}
@@ -15,8 +15,12 @@ public class Card extends BaseEntity {
   String mobileNumber;
   String cardNumber;
   String cardType;
-  double totalLimit;
-  double amountUsed;
+  /** In minor units, see {@link dev.sharanggupta.card.money.Money}. */
+  long totalLimit;
+
+  /** In minor units, see {@link dev.sharanggupta.card.money.Money}. */
+  long amountUsed;
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long cardId;
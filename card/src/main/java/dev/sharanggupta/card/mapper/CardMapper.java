@@ -2,14 +2,15 @@ package dev.sharanggupta.card.mapper;
 
 import dev.sharanggupta.card.dto.CardDto;
 import dev.sharanggupta.card.entity.Card;
+import dev.sharanggupta.card.money.Money;
 
 public class CardMapper {
   public static CardDto mapToCardDto(Card card, CardDto cardDto) {
     cardDto.setCardNumber(card.getCardNumber());
     cardDto.setCardType(card.getCardType());
     cardDto.setMobileNumber(card.getMobileNumber());
-    cardDto.setTotalLimit(card.getTotalLimit());
-    cardDto.setAmountUsed(card.getAmountUsed());
+    cardDto.setTotalLimit(new Money(card.getTotalLimit()));
+    cardDto.setAmountUsed(new Money(card.getAmountUsed()));
     return cardDto;
   }
 
@@ -17,8 +18,8 @@ public class CardMapper {
     card.setCardNumber(cardDto.getCardNumber());
     card.setCardType(cardDto.getCardType());
     card.setMobileNumber(cardDto.getMobileNumber());
-    card.setTotalLimit(cardDto.getTotalLimit());
-    card.setAmountUsed(cardDto.getAmountUsed());
+    card.setTotalLimit(cardDto.getTotalLimit().minorUnits());
+    card.setAmountUsed(cardDto.getAmountUsed().minorUnits());
     return card;
   }
 }
@@ -0,0 +1,25 @@
+package dev.sharanggupta.card.repository;
+
+import java.util.List;
+
+public interface CardChargeRepository {
+
+  /**
+   * Applies every charge with the same conditional increment as {@link
+   * CardRepository#chargeByMobileNumber}, in a single batch.
+   *
+   * @return the number of rows updated per charge, {@code 0} for a charge that was rejected
+   */
+  int[] applyCharges(List<CardCharge> charges);
+
+  /**
+   * Applies every charge without checking it against the limit, in a single batch, for charges that
+   * were accepted already and must not be dropped.
+   *
+   * @return the number of rows updated per charge, {@code 0} when the card does not exist
+   */
+  int[] applyChargesOverLimit(List<CardCharge> charges);
+
+  /** A charge of {@code amount} minor units. */
+  record CardCharge(String mobileNumber, long amount) {}
+}
@@ -0,0 +1,4 @@
+package dev.sharanggupta.card.repository;
+
+/** Number of cards of a type with their summed limits and usage, in minor units. */
+public record CardPortfolioTotal(String cardType, Long cards, Long totalLimit, Long amountUsed) {}
@@ -1,11 +1,74 @@
 package dev.sharanggupta.card.repository;
 
 import dev.sharanggupta.card.entity.Card;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface CardRepository extends JpaRepository<Card, Long> {
   Optional<Card> findByMobileNumber(String mobileNumber);
+
+  List<Card> findByMobileNumberIn(Collection<String> mobileNumbers);
+
+  /**
+   * Updates the card of a mobile number in place with a single statement, leaving the creation
+   * audit columns untouched.
+   *
+   * @return the number of rows updated, {@code 0} when no card exists for the mobile number
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      """
+      update Card c set c.cardNumber = :cardNumber, c.cardType = :cardType, c.totalLimit = :totalLimit,
+        c.amountUsed = :amountUsed, c.updatedAt = :updatedAt, c.updatedBy = :updatedBy
+      where c.mobileNumber = :mobileNumber""")
+  int updateByMobileNumber(
+      @Param("mobileNumber") String mobileNumber,
+      @Param("cardNumber") String cardNumber,
+      @Param("cardType") String cardType,
+      @Param("totalLimit") long totalLimit,
+      @Param("amountUsed") long amountUsed,
+      @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("updatedBy") String updatedBy);
+
+  boolean existsByMobileNumber(String mobileNumber);
+
+  /**
+   * Adds {@code amount} minor units to the amount used of the card of a mobile number, provided the result
+   * stays within its limit. The check and the increment are one statement, so concurrent charges
+   * can neither lose updates nor overdraw the card.
+   *
+   * @return {@code 1} when the charge was applied, {@code 0} when the card does not exist or does
+   *     not have enough limit left
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      """
+      update Card c set c.amountUsed = c.amountUsed + :amount, c.updatedAt = :updatedAt,
+        c.updatedBy = :updatedBy
+      where c.mobileNumber = :mobileNumber and c.amountUsed + :amount <= c.totalLimit""")
+  int chargeByMobileNumber(
+      @Param("mobileNumber") String mobileNumber,
+      @Param("amount") long amount,
+      @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("updatedBy") String updatedBy);
+
+  @Query(
+      """
+      select new dev.sharanggupta.card.repository.CardPortfolioTotal(
+        c.cardType, count(c), sum(c.totalLimit), sum(c.amountUsed))
+      from Card c
+      group by c.cardType
+      order by c.cardType""")
+  List<CardPortfolioTotal> findPortfolioTotals();
 }
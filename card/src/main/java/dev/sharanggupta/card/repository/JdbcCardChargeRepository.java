@@ -0,0 +1,54 @@
+package dev.sharanggupta.card.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcCardChargeRepository implements CardChargeRepository {
+  private static final String CHARGE =
+      "UPDATE card SET amount_used = amount_used + ?, updated_at = ?, updated_by = ?"
+          + " WHERE mobile_number = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final AuditorAware<String> auditorAware;
+
+  @Override
+  @Transactional
+  public int[] applyCharges(List<CardCharge> charges) {
+    return apply(CHARGE + " AND amount_used + ? <= total_limit", charges, true);
+  }
+
+  @Override
+  @Transactional
+  public int[] applyChargesOverLimit(List<CardCharge> charges) {
+    return apply(CHARGE, charges, false);
+  }
+
+  private int[] apply(String sql, List<CardCharge> charges, boolean checkLimit) {
+    if (charges.isEmpty()) {
+      return new int[0];
+    }
+    Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+    String updatedBy = auditorAware.getCurrentAuditor().orElse(null);
+    return jdbcTemplate.batchUpdate(
+        sql,
+        charges,
+        charges.size(),
+        (statement, charge) -> {
+          statement.setLong(1, charge.amount());
+          statement.setTimestamp(2, updatedAt);
+          statement.setString(3, updatedBy);
+          statement.setString(4, charge.mobileNumber());
+          if (checkLimit) {
+            statement.setLong(5, charge.amount());
+          }
+        })[0];
+  }
+}
@@ -0,0 +1,273 @@
+package dev.sharanggupta.card.service;
+
+import dev.sharanggupta.card.config.ChargeProperties;
+import dev.sharanggupta.card.exception.CardLimitExceededException;
+import dev.sharanggupta.card.exception.ResourceNotFoundException;
+import dev.sharanggupta.card.repository.CardChargeRepository;
+import dev.sharanggupta.card.repository.CardChargeRepository.CardCharge;
+import dev.sharanggupta.card.repository.CardRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind ledger for card charges. Each card gets an in-memory balance, loaded from the
+ * database on its first charge, that charges are reserved against with a compare-and-set on a
+ * single counter, so accepting a charge never takes a lock or touches the database. The charges a
+ * card has taken since the last flush are written in one batch every {@code charge.flush-interval},
+ * one conditional increment per card.
+ *
+ * <p>Balances are only as fresh as this instance's own charges, which is why the ledger is meant for
+ * a single instance. {@link #flush(String)} must run before anything else writes the card. Should
+ * the card change underneath anyway, the charges it has already accepted are written regardless of
+ * the limit and counted in {@code card.charge.overdrafts}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "charge", name = "write-behind", havingValue = "true")
+public class CardChargeLedger {
+  private final CardRepository cardRepository;
+  private final CardChargeRepository cardChargeRepository;
+  private final Counter overdrafts;
+  // Loaded outside of the map's locks; every charge of a card waits on the same load.
+  private final Map<String, CompletableFuture<Balance>> balances = new ConcurrentHashMap<>();
+  // Held while writing to the database; charges only take it to wait for a retired balance.
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private final ScheduledExecutorService flusher =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "card-charge-flusher");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public CardChargeLedger(
+      CardRepository cardRepository,
+      CardChargeRepository cardChargeRepository,
+      ChargeProperties chargeProperties,
+      MeterRegistry meterRegistry) {
+    this.cardRepository = cardRepository;
+    this.cardChargeRepository = cardChargeRepository;
+    this.overdrafts =
+        Counter.builder("card.charge.overdrafts")
+            .description("Accepted write-behind charges that overdrew their card when written")
+            .register(meterRegistry);
+    long interval = chargeProperties.getFlushInterval().toMillis();
+    flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /** Reserves {@code amount} minor units against the card's limit. */
+  public void charge(String mobileNumber, long amount) {
+    while (true) {
+      Balance balance = join(balanceOf(mobileNumber));
+      long charged = balance.charged.get();
+      if (charged == Balance.RETIRED) {
+        // Being flushed and removed under the flush lock; wait for that, then reload.
+        flushLock.lock();
+        flushLock.unlock();
+        continue;
+      }
+      if (charged + amount > balance.limit) {
+        throw new CardLimitExceededException(mobileNumber);
+      }
+      if (balance.charged.compareAndSet(charged, charged + amount)) {
+        return;
+      }
+    }
+  }
+
+  /** Writes the charges of every card that has taken any since the last flush. */
+  public void flush() {
+    flushLock.lock();
+    try {
+      List<Pending> pending = new ArrayList<>();
+      balances.forEach(
+          (mobileNumber, loaded) -> {
+            if (!loaded.isDone() || loaded.isCompletedExceptionally()) {
+              return;
+            }
+            Balance balance = loaded.join();
+            long charged = balance.charged.get();
+            if (charged != Balance.RETIRED && charged > balance.flushed) {
+              pending.add(new Pending(mobileNumber, loaded, balance, charged));
+            }
+          });
+      if (!pending.isEmpty()) {
+        // The limits of the rejected cards changed underneath the ledger: reload them.
+        write(pending).forEach(rejected -> retire(rejected.mobileNumber(), rejected.loaded()));
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /**
+   * Writes the pending charges of one card and forgets its balance, so the next charge reloads it.
+   * Call it before the card is updated or deleted by other means.
+   */
+  public void flush(String mobileNumber) {
+    flushLock.lock();
+    try {
+      CompletableFuture<Balance> loaded = balances.get(mobileNumber);
+      // Waits for a load in progress; a load that failed has no charges to write.
+      if (loaded != null && loaded.exceptionally(failure -> null).join() != null) {
+        retire(mobileNumber, loaded);
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    flusher.shutdown();
+    flush();
+  }
+
+  private CompletableFuture<Balance> balanceOf(String mobileNumber) {
+    CompletableFuture<Balance> loaded = balances.get(mobileNumber);
+    if (loaded != null) {
+      return loaded;
+    }
+    CompletableFuture<Balance> loading = new CompletableFuture<>();
+    loaded = balances.putIfAbsent(mobileNumber, loading);
+    if (loaded != null) {
+      return loaded;
+    }
+    try {
+      loading.complete(load(mobileNumber));
+    } catch (RuntimeException exception) {
+      balances.remove(mobileNumber, loading);
+      loading.completeExceptionally(exception);
+    }
+    return loading;
+  }
+
+  /** Writes the remaining charges of a balance, if any, and removes it. Call under flushLock. */
+  private void retire(String mobileNumber, CompletableFuture<Balance> loaded) {
+    Balance balance = join(loaded);
+    long charged = balance.charged.getAndSet(Balance.RETIRED);
+    if (charged > balance.flushed) {
+      try {
+        write(List.of(new Pending(mobileNumber, loaded, balance, charged)));
+      } catch (RuntimeException exception) {
+        balance.charged.set(charged);
+        throw exception;
+      }
+    }
+    balances.remove(mobileNumber, loaded);
+  }
+
+  /**
+   * Writes pending charges with the conditional increment. The charges it rejects were accepted
+   * already, so they are written again without the limit check rather than dropped.
+   *
+   * @return the pending charges the limit rejected
+   */
+  private List<Pending> write(List<Pending> pending) {
+    List<CardCharge> charges = pending.stream().map(Pending::charge).toList();
+    int[] updated = cardChargeRepository.applyCharges(charges);
+    List<Pending> rejected = new ArrayList<>();
+    List<CardCharge> rejectedCharges = new ArrayList<>();
+    for (int i = 0; i < updated.length; i++) {
+      if (updated[i] == 0) {
+        rejected.add(pending.get(i));
+        rejectedCharges.add(charges.get(i));
+      } else {
+        pending.get(i).markFlushed();
+      }
+    }
+    if (rejected.isEmpty()) {
+      return rejected;
+    }
+    int[] overdrawn = cardChargeRepository.applyChargesOverLimit(rejectedCharges);
+    for (int i = 0; i < overdrawn.length; i++) {
+      CardCharge charge = rejectedCharges.get(i);
+      if (overdrawn[i] == 0) {
+        log.error(
+            "Lost charges of {} for mobileNumber {}, the card was deleted underneath the ledger",
+            charge.amount(),
+            charge.mobileNumber());
+      } else {
+        overdrafts.increment();
+        log.error(
+            "Charges of {} overdrew the card of mobileNumber {}, its limit changed underneath",
+            charge.amount(),
+            charge.mobileNumber());
+      }
+      rejected.get(i).markFlushed();
+    }
+    return rejected;
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (DataAccessException exception) {
+      log.warn("Flushing card charges failed, retrying on the next flush", exception);
+    }
+  }
+
+  private Balance load(String mobileNumber) {
+    return cardRepository
+        .findByMobileNumber(mobileNumber)
+        .map(card -> new Balance(card.getTotalLimit() - card.getAmountUsed()))
+        .orElseThrow(() -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber));
+  }
+
+  private static Balance join(CompletableFuture<Balance> loaded) {
+    try {
+      return loaded.join();
+    } catch (CompletionException exception) {
+      if (exception.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw exception;
+    }
+  }
+
+  /** Charges of a card read for a write: everything it had taken when the flush looked at it. */
+  private record Pending(
+      String mobileNumber, CompletableFuture<Balance> loaded, Balance balance, long charged) {
+
+    CardCharge charge() {
+      return new CardCharge(mobileNumber, charged - balance.flushed);
+    }
+
+    void markFlushed() {
+      balance.flushed = charged;
+    }
+  }
+
+  private static final class Balance {
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    /** Limit left on the card when the balance was loaded. */
+    private final long limit;
+
+    /** Charged since the balance was loaded, or {@link #RETIRED}. */
+    private final AtomicLong charged = new AtomicLong();
+
+    /** Part of {@link #charged} already written to the database; only touched under flushLock. */
+    private long flushed;
+
+    private Balance(long limit) {
+      this.limit = limit;
+    }
+  }
+}
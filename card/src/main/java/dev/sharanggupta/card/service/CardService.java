@@ -1,6 +1,9 @@
 package dev.sharanggupta.card.service;
 
+import dev.sharanggupta.card.dto.CardChargeDto;
 import dev.sharanggupta.card.dto.CardDto;
+import dev.sharanggupta.card.dto.CardPortfolioDto;
+import java.util.List;
 
 public interface CardService {
 
@@ -8,7 +11,13 @@ public interface CardService {
 
   CardDto fetchCard(String mobileNumber);
 
+  List<CardDto> fetchCards(List<String> mobileNumbers);
+
   void updateCard(CardDto cardDto);
 
+  void chargeCard(CardChargeDto cardChargeDto);
+
+  List<CardPortfolioDto> fetchPortfolio();
+
   void deleteCard(String mobileNumber);
 }
@@ -1,30 +1,47 @@
 package dev.sharanggupta.card.service;
 
+import dev.sharanggupta.card.dto.CardChargeDto;
 import dev.sharanggupta.card.dto.CardDto;
+import dev.sharanggupta.card.dto.CardPortfolioDto;
 import dev.sharanggupta.card.entity.Card;
 import dev.sharanggupta.card.exception.CardAlreadyExistsException;
+import dev.sharanggupta.card.exception.CardLimitExceededException;
 import dev.sharanggupta.card.exception.InternalServerException;
 import dev.sharanggupta.card.exception.ResourceNotFoundException;
 import dev.sharanggupta.card.mapper.CardMapper;
+import dev.sharanggupta.card.money.Money;
 import dev.sharanggupta.card.repository.CardRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
 @Service
 public class CardServiceImpl implements CardService {
+  private static final String MOBILE_NUMBER_CONSTRAINT = "uk_card_mobile_number";
+
   private final CardRepository cardRepository;
+  private final AuditorAware<String> auditorAware;
+  private final Optional<CardChargeLedger> cardChargeLedger;
 
   @Override
   public void createCard(String mobileNumber) {
-    Optional<Card> existingCard = cardRepository.findByMobileNumber(mobileNumber);
-    if (existingCard.isPresent()) {
-      throw new CardAlreadyExistsException(
-          "Card already registered with given mobileNumber " + mobileNumber);
+    try {
+      cardRepository.save(createNewCard(mobileNumber));
+    } catch (DataIntegrityViolationException exception) {
+      if (isMobileNumberConflict(exception)) {
+        throw new CardAlreadyExistsException(
+            "Card already registered with given mobileNumber " + mobileNumber);
+      }
+      throw exception;
     }
-    cardRepository.save(createNewCard(mobileNumber));
   }
 
   @Override
@@ -36,20 +53,68 @@ public class CardServiceImpl implements CardService {
     return CardMapper.mapToCardDto(card, new CardDto());
   }
 
+  @Override
+  public List<CardDto> fetchCards(List<String> mobileNumbers) {
+    return cardRepository.findByMobileNumberIn(mobileNumbers).stream()
+        .map(card -> CardMapper.mapToCardDto(card, new CardDto()))
+        .toList();
+  }
+
   @Override
   public void updateCard(CardDto cardDto) {
     String mobileNumber = cardDto.getMobileNumber();
-    Card currentCard =
-        cardRepository
-            .findByMobileNumber(mobileNumber)
-            .orElseThrow(() -> new ResourceNotFoundException("Card", "MobileNumber", mobileNumber));
-    Card updatedCard = CardMapper.mapToCard(cardDto, new Card());
-    updatedCard.setCardId(currentCard.getCardId());
-    cardRepository.save(updatedCard);
+    cardChargeLedger.ifPresent(ledger -> ledger.flush(mobileNumber));
+    int updated =
+        cardRepository.updateByMobileNumber(
+            mobileNumber,
+            cardDto.getCardNumber(),
+            cardDto.getCardType(),
+            cardDto.getTotalLimit().minorUnits(),
+            cardDto.getAmountUsed().minorUnits(),
+            LocalDateTime.now(),
+            auditorAware.getCurrentAuditor().orElse(null));
+    if (updated == 0) {
+      throw new ResourceNotFoundException("Card", "MobileNumber", mobileNumber);
+    }
+  }
+
+  @Override
+  public void chargeCard(CardChargeDto cardChargeDto) {
+    String mobileNumber = cardChargeDto.getMobileNumber();
+    if (cardChargeLedger.isPresent()) {
+      cardChargeLedger.get().charge(mobileNumber, cardChargeDto.getAmount().minorUnits());
+      return;
+    }
+    int charged =
+        cardRepository.chargeByMobileNumber(
+            mobileNumber,
+            cardChargeDto.getAmount().minorUnits(),
+            LocalDateTime.now(),
+            auditorAware.getCurrentAuditor().orElse(null));
+    if (charged == 0) {
+      if (!cardRepository.existsByMobileNumber(mobileNumber)) {
+        throw new ResourceNotFoundException("Card", "mobileNumber", mobileNumber);
+      }
+      throw new CardLimitExceededException(mobileNumber);
+    }
+  }
+
+  @Override
+  public List<CardPortfolioDto> fetchPortfolio() {
+    return cardRepository.findPortfolioTotals().stream()
+        .map(
+            total ->
+                new CardPortfolioDto(
+                    total.cardType(),
+                    total.cards(),
+                    new Money(total.totalLimit()),
+                    new Money(total.amountUsed())))
+        .toList();
   }
 
   @Override
   public void deleteCard(String mobileNumber) {
+    cardChargeLedger.ifPresent(ledger -> ledger.flush(mobileNumber));
     Card card =
         cardRepository
             .findByMobileNumber(mobileNumber)
@@ -61,13 +126,22 @@ public class CardServiceImpl implements CardService {
     }
   }
 
+  private boolean isMobileNumberConflict(DataIntegrityViolationException exception) {
+    return exception.getCause() instanceof ConstraintViolationException constraintViolation
+        && constraintViolation.getConstraintName() != null
+        && constraintViolation
+            .getConstraintName()
+            .toLowerCase(Locale.ROOT)
+            .contains(MOBILE_NUMBER_CONSTRAINT);
+  }
+
   private Card createNewCard(String mobileNumber) {
     Card newCard = new Card();
     long randomCardNumber = (long) (Math.random() * 10000000000000000L);
     newCard.setCardNumber(Long.toString(randomCardNumber));
     newCard.setMobileNumber(mobileNumber);
     newCard.setCardType("Credit Card");
-    newCard.setTotalLimit(1_00_000);
+    newCard.setTotalLimit(1_00_000_00L);
     newCard.setAmountUsed(0);
     return newCard;
   }
@@ -0,0 +1,165 @@
+package dev.sharanggupta.card.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.sharanggupta.card.audit.AuditAwareImpl;
+import dev.sharanggupta.card.config.ChargeProperties;
+import dev.sharanggupta.card.exception.CardLimitExceededException;
+import dev.sharanggupta.card.exception.ResourceNotFoundException;
+import dev.sharanggupta.card.repository.CardRepository;
+import dev.sharanggupta.card.repository.JdbcCardChargeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest(
+    properties = {
+      "spring.cloud.config.enabled=false",
+      "spring.datasource.url=jdbc:h2:mem:carddb;MODE=MySQL",
+      "spring.jpa.hibernate.ddl-auto=none"
+    })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CardChargeLedgerTest {
+
+  private static final String MOBILE_NUMBER = "9234567890";
+
+  @Autowired private CardRepository cardRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private MeterRegistry meterRegistry;
+  private CardChargeLedger ledger;
+
+  @BeforeEach
+  void setUp() {
+    cardRepository.deleteAll();
+    new CardServiceImpl(cardRepository, new AuditAwareImpl(), Optional.empty())
+        .createCard(MOBILE_NUMBER);
+    ChargeProperties chargeProperties = new ChargeProperties();
+    chargeProperties.setWriteBehind(true);
+    chargeProperties.setFlushInterval(Duration.ofHours(1));
+    meterRegistry = new SimpleMeterRegistry();
+    ledger =
+        new CardChargeLedger(
+            cardRepository,
+            new JdbcCardChargeRepository(jdbcTemplate, new AuditAwareImpl()),
+            chargeProperties,
+            meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    ledger.close();
+  }
+
+  @Test
+  void acceptsChargesUpToTheLimitAndWritesThemOnFlush() throws InterruptedException {
+    int threads = 32;
+    int chargesPerThread = 1_000;
+    AtomicInteger accepted = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    for (int i = 0; i < threads; i++) {
+      executor.submit(
+          () -> {
+            start.await();
+            for (int j = 0; j < chargesPerThread; j++) {
+              try {
+                ledger.charge(MOBILE_NUMBER, 2_50);
+                accepted.incrementAndGet();
+              } catch (CardLimitExceededException exception) {
+                // expected once the limit is used up
+              }
+            }
+            return null;
+          });
+    }
+    start.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+    // 32,000 charges of 2.50 against a limit of 1,00,000.00: exactly 32,000 fit.
+    assertThat(accepted).hasValue(32_000);
+    assertThat(amountUsed()).isZero();
+    assertThatThrownBy(() -> ledger.charge(MOBILE_NUMBER, 20_000_01))
+        .isInstanceOf(CardLimitExceededException.class);
+
+    ledger.flush();
+
+    assertThat(amountUsed()).isEqualTo(80_000_00);
+  }
+
+  @Test
+  void flushingACardWritesItsChargesAndReloadsItsBalance() {
+    ledger.charge(MOBILE_NUMBER, 60_000_00);
+    ledger.flush(MOBILE_NUMBER);
+    assertThat(amountUsed()).isEqualTo(60_000_00);
+
+    jdbcTemplate.update("UPDATE card SET total_limit = 7000000 WHERE mobile_number = ?", MOBILE_NUMBER);
+
+    assertThatThrownBy(() -> ledger.charge(MOBILE_NUMBER, 10_000_01))
+        .isInstanceOf(CardLimitExceededException.class);
+    ledger.charge(MOBILE_NUMBER, 10_000_00);
+    ledger.flush();
+    assertThat(amountUsed()).isEqualTo(70_000_00);
+  }
+
+  @Test
+  void writesAcceptedChargesEvenWhenTheLimitChangedUnderneath() {
+    ledger.charge(MOBILE_NUMBER, 60_000_00);
+    jdbcTemplate.update("UPDATE card SET total_limit = 5000000 WHERE mobile_number = ?", MOBILE_NUMBER);
+
+    ledger.flush();
+
+    assertThat(amountUsed()).isEqualTo(60_000_00);
+    assertThat(meterRegistry.counter("card.charge.overdrafts").count()).isEqualTo(1);
+    // The balance was reloaded with the new limit, which is used up.
+    assertThatThrownBy(() -> ledger.charge(MOBILE_NUMBER, 1))
+        .isInstanceOf(CardLimitExceededException.class);
+  }
+
+  @Test
+  void concurrentChargesAndFlushesOfACardLoseNothing() throws InterruptedException {
+    int threads = 16;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    for (int i = 0; i < threads; i++) {
+      executor.submit(
+          () -> {
+            start.await();
+            ledger.charge(MOBILE_NUMBER, 1_000_00);
+            ledger.flush(MOBILE_NUMBER);
+            return null;
+          });
+    }
+    start.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+    assertThat(amountUsed()).isEqualTo(16_000_00);
+  }
+
+  @Test
+  void chargingAnUnknownCardThrowsNotFound() {
+    assertThatThrownBy(() -> ledger.charge("9000000000", 50_00))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  private long amountUsed() {
+    return cardRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow().getAmountUsed();
+  }
+}
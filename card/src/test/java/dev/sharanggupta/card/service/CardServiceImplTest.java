@@ -0,0 +1,189 @@
+package dev.sharanggupta.card.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.sharanggupta.card.audit.AuditAwareImpl;
+import dev.sharanggupta.card.dto.CardChargeDto;
+import dev.sharanggupta.card.dto.CardDto;
+import dev.sharanggupta.card.dto.CardPortfolioDto;
+import dev.sharanggupta.card.entity.Card;
+import dev.sharanggupta.card.exception.CardAlreadyExistsException;
+import dev.sharanggupta.card.exception.CardLimitExceededException;
+import dev.sharanggupta.card.exception.ResourceNotFoundException;
+import dev.sharanggupta.card.mapper.CardMapper;
+import dev.sharanggupta.card.money.Money;
+import dev.sharanggupta.card.repository.CardRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest(
+    properties = {
+      "spring.cloud.config.enabled=false",
+      "spring.datasource.url=jdbc:h2:mem:carddb;MODE=MySQL",
+      "spring.jpa.hibernate.ddl-auto=none",
+      "spring.jpa.properties.hibernate.generate_statistics=true"
+    })
+// Run without a test transaction so every repository call commits on its own, as in production.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CardServiceImplTest {
+
+  private static final String MOBILE_NUMBER = "9234567890";
+
+  @Autowired private CardRepository cardRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private CardServiceImpl cardService;
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    cardRepository.deleteAll();
+    cardService = new CardServiceImpl(cardRepository, new AuditAwareImpl(), Optional.empty());
+    cardService.createCard(MOBILE_NUMBER);
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void rejectsASecondCardForTheMobileNumberWithTheInsertAlone() {
+    assertThatThrownBy(() -> cardService.createCard(MOBILE_NUMBER))
+        .isInstanceOf(CardAlreadyExistsException.class);
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(cardRepository.count()).isEqualTo(1);
+  }
+
+  @Test
+  void updatingInPlaceTakesOneStatementWhereReplacingTheWholeRowTakesThree() {
+    CardDto cardDto = updatedCard();
+    Card currentCard = cardRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+    Card updatedCard = CardMapper.mapToCard(cardDto, new Card());
+    updatedCard.setCardId(currentCard.getCardId());
+    cardRepository.save(updatedCard);
+
+    // The lookup, the select of the merge and the update.
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    statistics.clear();
+
+    cardRepository.updateByMobileNumber(
+        MOBILE_NUMBER,
+        cardDto.getCardNumber(),
+        cardDto.getCardType(),
+        cardDto.getTotalLimit().minorUnits(),
+        cardDto.getAmountUsed().minorUnits(),
+        LocalDateTime.now(),
+        "CARD_MS");
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void updatesTheCardWithASingleStatement() {
+    LocalDateTime createdAt =
+        cardRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow().getCreatedAt();
+    statistics.clear();
+
+    cardService.updateCard(updatedCard());
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    Card card = cardRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+    assertThat(card.getCardType()).isEqualTo("Debit Card");
+    assertThat(card.getAmountUsed()).isEqualTo(2_500_00);
+    assertThat(card.getCreatedAt()).isEqualTo(createdAt);
+    assertThat(card.getCreatedBy()).isEqualTo("admin");
+    assertThat(card.getUpdatedBy()).isEqualTo("CARD_MS");
+  }
+
+  @Test
+  void throwsWhenNoCardExistsForTheMobileNumber() {
+    CardDto cardDto = updatedCard();
+    cardDto.setMobileNumber("9000000000");
+
+    assertThatThrownBy(() -> cardService.updateCard(cardDto))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  void concurrentChargesNeitherLoseUpdatesNorOverdrawTheCard() throws InterruptedException {
+    int threads = 16;
+    int chargesPerThread = 150;
+    AtomicInteger accepted = new AtomicInteger();
+    AtomicInteger rejected = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    for (int i = 0; i < threads; i++) {
+      executor.submit(
+          () -> {
+            start.await();
+            for (int j = 0; j < chargesPerThread; j++) {
+              try {
+                cardService.chargeCard(charge(MOBILE_NUMBER, "50.00"));
+                accepted.incrementAndGet();
+              } catch (CardLimitExceededException exception) {
+                rejected.incrementAndGet();
+              }
+            }
+            return null;
+          });
+    }
+    start.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+    // 2,400 charges of 50.00 against a limit of 1,00,000.00: exactly 2,000 fit.
+    assertThat(accepted).hasValue(2_000);
+    assertThat(rejected).hasValue(400);
+    Card card = cardRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+    assertThat(card.getAmountUsed()).isEqualTo(1_00_000_00);
+  }
+
+  @Test
+  void chargingAnUnknownCardThrowsNotFound() {
+    assertThatThrownBy(() -> cardService.chargeCard(charge("9000000000", "50.00")))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  void sumsLimitsAndUsageExactlyPerCardType() {
+    cardService.createCard("9000000001");
+    cardService.chargeCard(charge(MOBILE_NUMBER, "0.10"));
+    cardService.chargeCard(charge("9000000001", "0.20"));
+
+    assertThat(cardService.fetchPortfolio())
+        .containsExactly(
+            new CardPortfolioDto(
+                "Credit Card", 2, Money.of("200000.00"), Money.of("0.30")));
+  }
+
+  static CardChargeDto charge(String mobileNumber, String amount) {
+    CardChargeDto cardChargeDto = new CardChargeDto();
+    cardChargeDto.setMobileNumber(mobileNumber);
+    cardChargeDto.setAmount(Money.of(amount));
+    return cardChargeDto;
+  }
+
+  private static CardDto updatedCard() {
+    CardDto cardDto = new CardDto();
+    cardDto.setMobileNumber(MOBILE_NUMBER);
+    cardDto.setCardNumber("1234567887654321");
+    cardDto.setCardType("Debit Card");
+    cardDto.setTotalLimit(Money.of("100000.00"));
+    cardDto.setAmountUsed(Money.of("2500.00"));
+    return cardDto;
+  }
+}
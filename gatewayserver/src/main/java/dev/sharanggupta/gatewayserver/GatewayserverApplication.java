@@ -1,9 +1,12 @@
 package dev.sharanggupta.gatewayserver;
 
 import org.springframework.boot.SpringApplication;
+import dev.sharanggupta.gatewayserver.config.CustomerViewProperties;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
+@EnableConfigurationProperties(CustomerViewProperties.class)
 public class GatewayserverApplication {
 
 	public static void main(String[] args) {
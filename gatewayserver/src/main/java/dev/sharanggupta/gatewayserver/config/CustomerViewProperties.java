@@ -0,0 +1,37 @@
+package dev.sharanggupta.gatewayserver.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "customer-view")
+public class CustomerViewProperties {
+
+    private Duration accountTimeout = Duration.ofSeconds(2);
+    private Duration cardTimeout = Duration.ofSeconds(2);
+    private Duration loanTimeout = Duration.ofSeconds(2);
+
+    public Duration getAccountTimeout() {
+        return accountTimeout;
+    }
+
+    public void setAccountTimeout(Duration accountTimeout) {
+        this.accountTimeout = accountTimeout;
+    }
+
+    public Duration getCardTimeout() {
+        return cardTimeout;
+    }
+
+    public void setCardTimeout(Duration cardTimeout) {
+        this.cardTimeout = cardTimeout;
+    }
+
+    public Duration getLoanTimeout() {
+        return loanTimeout;
+    }
+
+    public void setLoanTimeout(Duration loanTimeout) {
+        this.loanTimeout = loanTimeout;
+    }
+}
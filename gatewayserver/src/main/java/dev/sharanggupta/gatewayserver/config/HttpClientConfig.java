@@ -0,0 +1,22 @@
+package dev.sharanggupta.gatewayserver.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Talks HTTP/2 over cleartext to the backends, which have server.http2 enabled, so each gateway
+     * connection multiplexes many requests. Backends that only speak HTTP/1.1 decline the upgrade
+     * and the connection carries on as HTTP/1.1.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "backend.h2c-enabled", havingValue = "true")
+    public HttpClientCustomizer h2cHttpClientCustomizer() {
+        return httpClient -> httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+    }
+}
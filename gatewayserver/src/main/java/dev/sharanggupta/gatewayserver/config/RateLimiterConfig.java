@@ -0,0 +1,36 @@
+package dev.sharanggupta.gatewayserver.config;
+
+import dev.sharanggupta.gatewayserver.config.filter.LocalRateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+
+@Configuration
+public class RateLimiterConfig {
+
+    /**
+     * Keys requests on the authenticated principal, else on the caller's IP address. Nothing the
+     * client sends, such as a client id header, is trusted: a client could change it on every request
+     * to get a fresh bucket.
+     */
+    @Bean
+    public KeyResolver clientKeyResolver() {
+        return exchange -> exchange.getPrincipal()
+                .map(Principal::getName)
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+                    return remoteAddress == null || remoteAddress.getAddress() == null
+                            ? "unknown" : remoteAddress.getAddress().getHostAddress();
+                }));
+    }
+
+    @Bean
+    public LocalRateLimiter localRateLimiter(ConfigurationService configurationService) {
+        return new LocalRateLimiter(new LocalRateLimiter.Config(), configurationService);
+    }
+}
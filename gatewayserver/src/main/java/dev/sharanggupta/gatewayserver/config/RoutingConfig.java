@@ -1,37 +1,80 @@
 package dev.sharanggupta.gatewayserver.config;
 
+import dev.sharanggupta.gatewayserver.config.filter.ConcurrencyLimitGatewayFilterFactory;
+import dev.sharanggupta.gatewayserver.config.filter.HedgingGatewayFilterFactory;
+import dev.sharanggupta.gatewayserver.config.filter.LocalRateLimiter;
+import dev.sharanggupta.gatewayserver.config.filter.ResponseCacheGatewayFilterFactory;
+import dev.sharanggupta.gatewayserver.config.filter.RouteMetricsFilter;
+import dev.sharanggupta.gatewayserver.config.filter.ServerTimingFilter;
+import dev.sharanggupta.gatewayserver.config.filter.StripRoutePrefixGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 
 @Configuration
 public class RoutingConfig {
     @Bean
-    public RouteLocator eazyBankRoute(RouteLocatorBuilder builder) {
+    public RouteLocator eazyBankRoute(RouteLocatorBuilder builder, ServerTimingFilter serverTimingFilter,
+                                      ResponseCacheGatewayFilterFactory responseCache,
+                                      KeyResolver clientKeyResolver,
+                                      ConcurrencyLimitGatewayFilterFactory concurrencyLimit,
+                                      StripRoutePrefixGatewayFilterFactory stripRoutePrefix,
+                                      HedgingGatewayFilterFactory hedging) {
         return builder.routes()
                 .route("account_route", r -> r
                         .path("/eazybank/account/**")
                         .filters(f->f
-                                .rewritePath("/eazybank/account/(?<segment>.*)", "/${segment}")
-                                .addResponseHeader("X-Response-Time", LocalDateTime.now().toString())
-                                .circuitBreaker(config -> config.setName("account").setFallbackUri("forward:/contactSupport")))
+                                .filter(stripRoutePrefix.apply(config -> config.setPrefix("/eazybank/account")))
+                                .filter(serverTimingFilter.total())
+                                .filter(responseCache.apply(config -> config.setTimeToLive(Duration.ofSeconds(30))
+                                        .setInvalidatingPaths("/api/create", "/api/create-batch", "/api/update",
+                                                "/api/delete")
+                                        // Embeds cards and loans, which the other routes change.
+                                        .setUncachedPaths("/api/customer/fetch")))
+                                .requestRateLimiter(config -> config
+                                        .setRateLimiter(new LocalRateLimiter(50, 100))
+                                        .setKeyResolver(clientKeyResolver))
+                                .filter(serverTimingFilter.upstream())
+                                .circuitBreaker(config -> config.setName("account").setFallbackUri("forward:/contactSupport"))
+                                .filter(concurrencyLimit.apply(config -> config.setMaxLimit(100))))
+                        .metadata(RouteMetricsFilter.CIRCUIT_BREAKER_METADATA, "account")
                         .uri("lb://ACCOUNT"))
                 .route("card_route", r -> r
                         .path("/eazybank/card/**")
                         .filters(f->f
-                                .rewritePath("/eazybank/card/(?<segment>.*)", "/${segment}")
-                                .addResponseHeader("X-Response-Time", LocalDateTime.now().toString())
-                                .circuitBreaker(config -> config.setName("card").setFallbackUri("forward:/contactSupport")))
+                                .filter(stripRoutePrefix.apply(config -> config.setPrefix("/eazybank/card")))
+                                .filter(serverTimingFilter.total())
+                                .filter(responseCache.apply(config -> config.setTimeToLive(Duration.ofSeconds(5))
+                                        .setInvalidatingPaths("/api/create", "/api/update", "/api/delete", "/api/charge")))
+                                .requestRateLimiter(config -> config
+                                        .setRateLimiter(new LocalRateLimiter(100, 200))
+                                        .setKeyResolver(clientKeyResolver))
+                                .filter(serverTimingFilter.upstream())
+                                .circuitBreaker(config -> config.setName("card").setFallbackUri("forward:/contactSupport"))
+                                .filter(concurrencyLimit.apply(config -> config.setMaxLimit(100)))
+                                .filter(hedging.apply(config -> config.setPercentile(0.95).setBudgetPercent(5))))
+                        .metadata(RouteMetricsFilter.CIRCUIT_BREAKER_METADATA, "card")
                         .uri("lb://CARD"))
                 .route("loan_route", r -> r
                         .path("/eazybank/loan/**")
                         .filters(f->f
-                                .rewritePath("/eazybank/loan/(?<segment>.*)", "/${segment}")
-                                .addResponseHeader("X-Response-Time", LocalDateTime.now().toString())
-                                .circuitBreaker(config -> config.setName("loan").setFallbackUri("forward:/contactSupport")))
+                                .filter(stripRoutePrefix.apply(config -> config.setPrefix("/eazybank/loan")))
+                                .filter(serverTimingFilter.total())
+                                .filter(responseCache.apply(config -> config.setTimeToLive(Duration.ofSeconds(5))
+                                        .setInvalidatingPaths("/api/create", "/api/update", "/api/delete", "/api/repay",
+                                                "/api/repay-batch")))
+                                .requestRateLimiter(config -> config
+                                        .setRateLimiter(new LocalRateLimiter(100, 200))
+                                        .setKeyResolver(clientKeyResolver))
+                                .filter(serverTimingFilter.upstream())
+                                .circuitBreaker(config -> config.setName("loan").setFallbackUri("forward:/contactSupport"))
+                                .filter(concurrencyLimit.apply(config -> config.setMaxLimit(100)))
+                                .filter(hedging.apply(config -> config.setPercentile(0.95).setBudgetPercent(5))))
+                        .metadata(RouteMetricsFilter.CIRCUIT_BREAKER_METADATA, "loan")
                         .uri("lb://LOAN"))
                 .build();
     }
@@ -0,0 +1,21 @@
+package dev.sharanggupta.gatewayserver.config;
+
+import dev.sharanggupta.gatewayserver.config.loadbalancer.LoadBalancerCancellationFilter;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+public class WebClientConfig {
+
+    /**
+     * Load balanced by hand rather than with {@code @LoadBalanced}, so that requests cancelled by a
+     * timeout can be reported to the load balancer with the instance they went to.
+     */
+    @Bean
+    public WebClient.Builder loadBalancedWebClientBuilder(LoadBalancedExchangeFilterFunction loadBalancer,
+                                                          LoadBalancerCancellationFilter cancellations) {
+        return WebClient.builder().filter(cancellations.around(loadBalancer));
+    }
+}
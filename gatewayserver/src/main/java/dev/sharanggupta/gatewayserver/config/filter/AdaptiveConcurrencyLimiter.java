@@ -0,0 +1,98 @@
+package dev.sharanggupta.gatewayserver.config.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the number of requests in flight to a backend with a limit that follows its latency, in the
+ * style of Netflix's gradient limit. A slow moving average of the round trip time is the baseline
+ * and a fast one tracks current conditions. While the fast average stays near the baseline the limit
+ * grows by a queue allowance of {@code sqrt(limit)}; once the backend slows down the limit shrinks in
+ * proportion to the slowdown. Failed requests cut the limit multiplicatively.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW_WEIGHT = 2.0 / (10 + 1);
+    private static final double LONG_WINDOW_WEIGHT = 2.0 / (600 + 1);
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Reserves a slot for a request, returning {@code false} when the limit is already reached. Every
+     * successful acquire must be paired with {@link #release(long, boolean)}.
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Frees the slot of a finished request and feeds its round trip time into the limit.
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        update(rttNanos, dropped, inFlightAtCompletion);
+    }
+
+    /**
+     * Frees the slot of a request that was cancelled before completing, without sampling it.
+     */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, boolean dropped, int inFlightAtCompletion) {
+        if (dropped) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+            limit = (int) estimatedLimit;
+            return;
+        }
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) * SHORT_WINDOW_WEIGHT;
+        longRtt += (rttNanos - longRtt) * LONG_WINDOW_WEIGHT;
+        if (longRtt / shortRtt > 2) {
+            // Recover quickly when latency drops well below the baseline, e.g. after a slow period.
+            longRtt *= 0.95;
+        }
+        if (inFlightAtCompletion < estimatedLimit / 2) {
+            // The backend is not the bottleneck, so the sample says nothing about the limit.
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
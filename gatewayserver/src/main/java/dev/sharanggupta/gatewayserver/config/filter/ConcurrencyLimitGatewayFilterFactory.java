@@ -0,0 +1,109 @@
+package dev.sharanggupta.gatewayserver.config.filter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the requests a route has in flight to its backend with an {@link AdaptiveConcurrencyLimiter}.
+ * Requests over the limit are rejected straight away with {@code 503 Service Unavailable} and a
+ * {@code Retry-After} header. Upstream errors and {@code 5xx} responses count as drops, and so do
+ * requests cancelled once the route's time limit has passed, i.e. by the circuit breaker's time
+ * limiter. Requests cancelled earlier, say by a client that went away, only free their slot.
+ */
+@Component
+public class ConcurrencyLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ConcurrencyLimitGatewayFilterFactory.Config> {
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitGatewayFilterFactory.class);
+    // The time limiter starts its clock a few filters before this one does.
+    private static final long TIME_LIMIT_SLACK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    public ConcurrencyLimitGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter(config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit());
+        long timedOutAfterNanos = config.getTimeLimit().toNanos() - TIME_LIMIT_SLACK_NANOS;
+        return (exchange, chain) -> {
+            if (!limiter.tryAcquire()) {
+                logger.debug("Concurrency limit of {} reached, rejecting {}", limiter.getLimit(),
+                        exchange.getRequest().getPath());
+                ServerWebExchangeUtils.setResponseStatus(exchange, HttpStatus.SERVICE_UNAVAILABLE);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                return exchange.getResponse().setComplete();
+            }
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                long rttNanos = System.nanoTime() - start;
+                if (signal == SignalType.CANCEL) {
+                    if (rttNanos >= timedOutAfterNanos) {
+                        limiter.release(rttNanos, true);
+                    } else {
+                        limiter.cancel();
+                    }
+                    return;
+                }
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                boolean dropped = signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+                limiter.release(rttNanos, dropped);
+            });
+        };
+    }
+
+    public static class Config {
+        private int initialLimit = 20;
+        private int minLimit = 5;
+        private int maxLimit = 200;
+        // The default of resilience4j's time limiter, which the routes' circuit breakers use.
+        private Duration timeLimit = Duration.ofSeconds(1);
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public Config setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public Config setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public Config setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        public Duration getTimeLimit() {
+            return timeLimit;
+        }
+
+        public Config setTimeLimit(Duration timeLimit) {
+            this.timeLimit = timeLimit;
+            return this;
+        }
+    }
+}
@@ -1,23 +1,35 @@
 package dev.sharanggupta.gatewayserver.config.filter;
 
+import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 
-import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 public class FilterUtility {
 
     public static final String CORRELATION_ID = "eazybank-correlation-id";
+    public static final String CORRELATION_ID_ATTR = FilterUtility.class.getName() + ".correlationId";
+
+    /**
+     * Order of the trace filters: ahead of every route filter, so responses a route filter answers
+     * itself, from its cache or its rate limiter, carry the correlation id too.
+     */
+    public static final int TRACE_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 1;
 
     public String getCorrelationId(HttpHeaders requestHeaders) {
-        if (requestHeaders.get(CORRELATION_ID) != null) {
-            List<String> requestHeaderList = requestHeaders.get(CORRELATION_ID);
-            return requestHeaderList.stream().findFirst().get();
-        } else {
-            return null;
-        }
+        return requestHeaders.getFirst(CORRELATION_ID);
+    }
+
+    /**
+     * Returns the correlation id {@link RequestTraceFilter} stored on the exchange, so later filters
+     * do not need to look at the request headers again.
+     */
+    public String getCorrelationId(ServerWebExchange exchange) {
+        return exchange.getAttribute(CORRELATION_ID_ATTR);
     }
 
     public ServerWebExchange setRequestHeader(ServerWebExchange exchange, String name, String value) {
@@ -28,4 +40,16 @@ public class FilterUtility {
         return this.setRequestHeader(exchange, CORRELATION_ID, correlationId);
     }
 
+    /**
+     * Generates a random version 4 UUID from {@link ThreadLocalRandom}. Unlike
+     * {@link UUID#randomUUID()} it never touches {@code SecureRandom}, so it cannot block on a
+     * container that is short of entropy. Correlation ids only need to be unique, not unguessable.
+     */
+    public String generateCorrelationId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
 }
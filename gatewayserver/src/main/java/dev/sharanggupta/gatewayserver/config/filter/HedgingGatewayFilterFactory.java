@@ -0,0 +1,350 @@
+package dev.sharanggupta.gatewayserver.config.filter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycleValidator;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Hedges GET requests of a route. The request goes through the rest of the filter chain as usual,
+ * so the routing filter's response timeout, the upstream {@code Server-Timing} entry and the load
+ * balancer's bookkeeping all apply to it. If its response headers have not arrived once the route's
+ * latency percentile has passed, the filter sends the same request to another, randomly picked
+ * instance of the service itself, answers with whichever response comes first and cancels the other
+ * call. The hedge gets the same response timeout, reports to the load balancer's lifecycle and, when
+ * it wins, replaces the upstream timing. Hedges are paid for by a budget that earns a fraction of a
+ * hedge on every request, so they never exceed {@code budgetPercent} of the traffic. Hedge response
+ * bodies are buffered, so only use it on routes that return small documents.
+ */
+@Component
+public class HedgingGatewayFilterFactory extends AbstractGatewayFilterFactory<HedgingGatewayFilterFactory.Config> {
+    private static final Logger logger = LoggerFactory.getLogger(HedgingGatewayFilterFactory.class);
+
+    private static final List<String> HOP_BY_HOP_HEADERS = List.of(HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.CONNECTION, HttpHeaders.HOST);
+
+    private final HttpClient httpClient;
+    private final ReactiveDiscoveryClient discoveryClient;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider;
+    private final HttpClientProperties httpClientProperties;
+    private final ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory;
+
+    public HedgingGatewayFilterFactory(HttpClient httpClient, ReactiveDiscoveryClient discoveryClient,
+                                       ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                       HttpClientProperties httpClientProperties,
+                                       ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory) {
+        super(Config.class);
+        this.httpClient = httpClient;
+        this.discoveryClient = discoveryClient;
+        this.headersFiltersProvider = headersFiltersProvider;
+        this.httpClientProperties = httpClientProperties;
+        this.loadBalancerFactory = loadBalancerFactory;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        LatencyPercentile latency = new LatencyPercentile(config.getPercentile(), config.getMinDelay(),
+                config.getMaxDelay());
+        HedgeBudget budget = new HedgeBudget(config.getBudgetPercent());
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            URI primary = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            if (!HttpMethod.GET.equals(exchange.getRequest().getMethod()) || primary == null || route == null
+                    || !"lb".equals(route.getUri().getScheme())) {
+                return chain.filter(exchange);
+            }
+            budget.onRequest();
+            HttpHeaders headers = requestHeaders(exchange);
+            AtomicReference<Throwable> primaryError = new AtomicReference<>();
+            Sinks.One<Throwable> primaryFailed = Sinks.one();
+
+            // Only completed responses are samples: a cancelled call would record a truncated latency.
+            long start = System.nanoTime();
+            Mono<Optional<UpstreamResponse>> first = chain.filter(exchange)
+                    .doOnSuccess(done -> latency.record(System.nanoTime() - start))
+                    .doOnError(error -> {
+                        primaryError.set(error);
+                        primaryFailed.tryEmitValue(error);
+                    })
+                    .thenReturn(Optional.empty());
+            Mono<Optional<UpstreamResponse>> hedge = Mono.delay(latency.current())
+                    .takeUntilOther(primaryFailed.asMono())
+                    .filter(tick -> budget.tryAcquire())
+                    .flatMap(tick -> otherInstance(route.getUri().getHost(), primary))
+                    .flatMap(instance -> hedge(exchange, route, instance, headers, latency))
+                    .map(Optional::of);
+            return Mono.firstWithValue(first, hedge)
+                    // Without a hedge answering, the caller gets the primary's own error.
+                    .onErrorMap(error -> primaryError.get() != null ? primaryError.get() : error)
+                    .flatMap(winner -> winner.isPresent() ? write(exchange, winner.get()) : Mono.empty());
+        }, ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1);
+    }
+
+    private HttpHeaders requestHeaders(ServerWebExchange exchange) {
+        HttpHeaders headers = HttpHeadersFilter.filterRequest(headersFiltersProvider.getIfAvailable(List::of), exchange);
+        HttpHeaders filtered = new HttpHeaders();
+        filtered.putAll(headers);
+        HOP_BY_HOP_HEADERS.forEach(filtered::remove);
+        return filtered;
+    }
+
+    private Mono<ServiceInstance> otherInstance(String serviceId, URI primary) {
+        return discoveryClient.getInstances(serviceId)
+                .filter(instance -> instance.getPort() != primary.getPort()
+                        || !instance.getHost().equals(primary.getHost()))
+                .collectList()
+                .filter(instances -> !instances.isEmpty())
+                .map(instances -> instances.get(ThreadLocalRandom.current().nextInt(instances.size())));
+    }
+
+    private Mono<UpstreamResponse> hedge(ServerWebExchange exchange, Route route, ServiceInstance instance,
+                                         HttpHeaders headers, LatencyPercentile latency) {
+        URI primary = exchange.getRequiredAttribute(GATEWAY_REQUEST_URL_ATTR);
+        URI uri = reconstruct(primary, instance);
+        Set<LoadBalancerLifecycle> lifecycles = LoadBalancerLifecycleValidator.getSupportedLifecycleProcessors(
+                loadBalancerFactory.getInstances(route.getUri().getHost(), LoadBalancerLifecycle.class),
+                RequestDataContext.class, ResponseData.class, ServiceInstance.class);
+        RequestData requestData = new RequestData(exchange.getRequest());
+        Request<RequestDataContext> lbRequest = new DefaultRequest<>(new RequestDataContext(requestData));
+        Response<ServiceInstance> lbResponse = new DefaultResponse(instance);
+        return Mono.defer(() -> {
+                    logger.debug("Hedging {} to {} after {}", primary, uri, latency.current());
+                    lifecycles.forEach(lifecycle -> lifecycle.onStartRequest(lbRequest, lbResponse));
+                    return call(uri, headers, responseTimeout(route));
+                })
+                .doOnSuccess(response -> {
+                    latency.record(response.nanos());
+                    ResponseData responseData = new ResponseData(response.status(), response.headers(),
+                            new LinkedMultiValueMap<>(), requestData);
+                    lifecycles.forEach(lifecycle -> lifecycle.onComplete(new CompletionContext<>(
+                            CompletionContext.Status.SUCCESS, lbRequest, lbResponse, responseData)));
+                })
+                .doOnError(error -> lifecycles.forEach(lifecycle -> lifecycle.onComplete(new CompletionContext<>(
+                        CompletionContext.Status.FAILED, error, lbRequest, lbResponse))))
+                .doOnCancel(() -> lifecycles.forEach(lifecycle -> lifecycle.onComplete(new CompletionContext<>(
+                        CompletionContext.Status.DISCARD, lbRequest, lbResponse))));
+    }
+
+    /**
+     * The route's {@code response-timeout} metadata in milliseconds, else the global one, as the
+     * routing filter applies it. A negative timeout disables it.
+     */
+    private Duration responseTimeout(Route route) {
+        Object timeout = route.getMetadata().get(RESPONSE_TIMEOUT_ATTR);
+        if (timeout == null) {
+            return httpClientProperties.getResponseTimeout();
+        }
+        long millis = timeout instanceof Number number ? number.longValue() : Long.parseLong(timeout.toString());
+        return millis < 0 ? null : Duration.ofMillis(millis);
+    }
+
+    private static URI reconstruct(URI primary, ServiceInstance instance) {
+        return UriComponentsBuilder.fromUri(primary)
+                .host(instance.getHost())
+                .port(instance.getPort())
+                .build(true)
+                .toUri();
+    }
+
+    private Mono<UpstreamResponse> call(URI uri, HttpHeaders headers, Duration responseTimeout) {
+        long start = System.nanoTime();
+        HttpClient client = responseTimeout == null ? httpClient : httpClient.responseTimeout(responseTimeout);
+        Mono<UpstreamResponse> response = client
+                .headers(outbound -> headers.forEach(outbound::set))
+                .get()
+                .uri(uri)
+                .responseSingle((upstream, body) -> body.asByteArray()
+                        .defaultIfEmpty(new byte[0])
+                        .map(bytes -> {
+                            HttpHeaders responseHeaders = new HttpHeaders();
+                            upstream.responseHeaders().forEach(entry ->
+                                    responseHeaders.add(entry.getKey(), entry.getValue()));
+                            return new UpstreamResponse(HttpStatusCode.valueOf(upstream.status().code()),
+                                    responseHeaders, bytes, System.nanoTime() - start);
+                        }));
+        return responseTimeout == null ? response : response.timeout(responseTimeout);
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, UpstreamResponse upstream) {
+        // The primary may have got its headers just before it was cancelled; its body must not follow.
+        if (exchange.getAttributes().remove(CLIENT_RESPONSE_CONN_ATTR) instanceof Connection connection) {
+            connection.dispose();
+        }
+        ServerTimingFilter.recordUpstream(exchange, upstream.nanos());
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(upstream.status());
+        HttpHeaders headers = HttpHeadersFilter.filter(headersFiltersProvider.getIfAvailable(List::of),
+                upstream.headers(), exchange, HttpHeadersFilter.Type.RESPONSE);
+        HOP_BY_HOP_HEADERS.forEach(headers::remove);
+        response.getHeaders().clear();
+        response.getHeaders().putAll(headers);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(upstream.body())));
+    }
+
+    private record UpstreamResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, long nanos) {
+    }
+
+    /**
+     * Keeps the most recent latencies of the route in a ring buffer and recomputes the configured
+     * percentile from them every {@code RECOMPUTE_EVERY} samples.
+     */
+    static class LatencyPercentile {
+        private static final int SAMPLES = 1024;
+        private static final int RECOMPUTE_EVERY = 128;
+
+        private final double percentile;
+        private final long minNanos;
+        private final long maxNanos;
+        private final AtomicLongArray samples = new AtomicLongArray(SAMPLES);
+        private final AtomicLong recorded = new AtomicLong();
+        private volatile Duration current;
+
+        LatencyPercentile(double percentile, Duration min, Duration max) {
+            this.percentile = percentile;
+            this.minNanos = min.toNanos();
+            this.maxNanos = max.toNanos();
+            this.current = max;
+        }
+
+        void record(long nanos) {
+            long count = recorded.incrementAndGet();
+            samples.set((int) ((count - 1) % SAMPLES), nanos);
+            if (count % RECOMPUTE_EVERY == 0) {
+                int size = (int) Math.min(count, SAMPLES);
+                long[] sorted = new long[size];
+                for (int i = 0; i < size; i++) {
+                    sorted[i] = samples.get(i);
+                }
+                Arrays.sort(sorted);
+                long value = sorted[(int) Math.min(size - 1, Math.ceil(percentile * size) - 1)];
+                current = Duration.ofNanos(Math.max(minNanos, Math.min(maxNanos, value)));
+            }
+        }
+
+        Duration current() {
+            return current;
+        }
+    }
+
+    /**
+     * Earns {@code budgetPercent} hundredths of a hedge on every request and spends a whole one per
+     * hedge. Credit is capped so a quiet period cannot be followed by a burst of hedges.
+     */
+    static class HedgeBudget {
+        private static final long HEDGE_COST = 100;
+        private static final long MAX_CREDIT = 10 * HEDGE_COST;
+
+        private final long earnedPerRequest;
+        private final AtomicLong credit = new AtomicLong();
+
+        HedgeBudget(int budgetPercent) {
+            this.earnedPerRequest = budgetPercent;
+        }
+
+        void onRequest() {
+            credit.accumulateAndGet(earnedPerRequest, (current, earned) -> Math.min(MAX_CREDIT, current + earned));
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                long current = credit.get();
+                if (current < HEDGE_COST) {
+                    return false;
+                }
+                if (credit.compareAndSet(current, current - HEDGE_COST)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    public static class Config {
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(10);
+        private Duration maxDelay = Duration.ofMillis(500);
+        private int budgetPercent = 5;
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public Config setPercentile(double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public Config setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+            return this;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public Config setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        public int getBudgetPercent() {
+            return budgetPercent;
+        }
+
+        public Config setBudgetPercent(int budgetPercent) {
+            this.budgetPercent = budgetPercent;
+            return this;
+        }
+    }
+}
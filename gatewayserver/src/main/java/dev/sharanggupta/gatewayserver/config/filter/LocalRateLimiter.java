@@ -0,0 +1,129 @@
+package dev.sharanggupta.gatewayserver.config.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An in-memory {@link org.springframework.cloud.gateway.filter.ratelimit.RateLimiter} that keeps a
+ * token bucket per route and client without Redis. Each bucket is a single {@link AtomicLong}
+ * holding the time at which it will be full again (the generic cell rate algorithm), so taking a
+ * token is one compare-and-set. Buckets that have been idle long enough to refill are evicted, and
+ * the number of tracked clients is capped, so memory stays bounded. Denied requests carry a
+ * {@code Retry-After} header with the number of seconds until enough tokens are available.
+ */
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    private final Config defaultConfig;
+    private final Cache<String, AtomicLong> buckets;
+
+    public LocalRateLimiter(int replenishRate, int burstCapacity) {
+        this(new Config().setReplenishRate(replenishRate).setBurstCapacity(burstCapacity), null);
+    }
+
+    public LocalRateLimiter(Config defaultConfig, ConfigurationService configurationService) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.defaultConfig = defaultConfig;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(defaultConfig.getMaxClients())
+                .expireAfterAccess(defaultConfig.refillDuration())
+                .build();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        return Mono.just(tryAcquire(config, routeId + ':' + id, System.nanoTime()));
+    }
+
+    Response tryAcquire(Config config, String key, long now) {
+        long interval = config.emissionIntervalNanos();
+        long tolerance = interval * config.getBurstCapacity();
+        long cost = interval * config.getRequestedTokens();
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long fullAt = bucket.get();
+            long newFullAt = Math.max(fullAt, now) + cost;
+            long debt = newFullAt - now;
+            if (debt > tolerance) {
+                long waitNanos = debt - tolerance;
+                return new Response(false, Map.of(
+                        REMAINING_HEADER, "0",
+                        REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+                        BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()),
+                        HttpHeaders.RETRY_AFTER, String.valueOf(
+                                Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)))));
+            }
+            if (bucket.compareAndSet(fullAt, newFullAt)) {
+                return new Response(true, Map.of(
+                        REMAINING_HEADER, String.valueOf((tolerance - debt) / interval),
+                        REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+                        BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity())));
+            }
+        }
+    }
+
+    public static class Config {
+        private int replenishRate = 100;
+        private int burstCapacity = 200;
+        private int requestedTokens = 1;
+        private long maxClients = 100_000;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+
+        public long getMaxClients() {
+            return maxClients;
+        }
+
+        public Config setMaxClients(long maxClients) {
+            this.maxClients = maxClients;
+            return this;
+        }
+
+        long emissionIntervalNanos() {
+            return TimeUnit.SECONDS.toNanos(1) / replenishRate;
+        }
+
+        Duration refillDuration() {
+            return Duration.ofNanos(Math.max(emissionIntervalNanos() * burstCapacity, TimeUnit.SECONDS.toNanos(1)));
+        }
+    }
+}
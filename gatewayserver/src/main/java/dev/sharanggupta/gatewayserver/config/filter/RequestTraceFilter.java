@@ -5,12 +5,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpHeaders;
+import org.springframework.core.Ordered;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 @Configuration
-public class RequestTraceFilter implements GlobalFilter {
+public class RequestTraceFilter implements GlobalFilter, Ordered {
     private static final Logger logger = LoggerFactory.getLogger(RequestTraceFilter.class);
 
     FilterUtility filterUtility;
@@ -21,27 +21,20 @@ public class RequestTraceFilter implements GlobalFilter {
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
-        if (isCorrelationIdPresent(requestHeaders)) {
-            logger.debug("eazyBank-correlation-id found in RequestTraceFilter : {}",
-                    filterUtility.getCorrelationId(requestHeaders));
+        String correlationId = filterUtility.getCorrelationId(exchange.getRequest().getHeaders());
+        if (correlationId != null) {
+            logger.debug("eazyBank-correlation-id found in RequestTraceFilter : {}", correlationId);
         } else {
-            String correlationID = generateCorrelationId();
-            exchange = filterUtility.setCorrelationId(exchange, correlationID);
-            logger.debug("eazyBank-correlation-id generated in RequestTraceFilter : {}", correlationID);
+            correlationId = filterUtility.generateCorrelationId();
+            exchange = filterUtility.setCorrelationId(exchange, correlationId);
+            logger.debug("eazyBank-correlation-id generated in RequestTraceFilter : {}", correlationId);
         }
+        exchange.getAttributes().put(FilterUtility.CORRELATION_ID_ATTR, correlationId);
         return chain.filter(exchange);
     }
 
-    private boolean isCorrelationIdPresent(HttpHeaders requestHeaders) {
-        if (filterUtility.getCorrelationId(requestHeaders) != null) {
-            return true;
-        } else {
-            return false;
-        }
-    }
-
-    private String generateCorrelationId() {
-        return java.util.UUID.randomUUID().toString();
+    @Override
+    public int getOrder() {
+        return FilterUtility.TRACE_FILTER_ORDER;
     }
 }
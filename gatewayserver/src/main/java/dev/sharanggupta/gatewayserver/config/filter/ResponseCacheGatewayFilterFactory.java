@@ -0,0 +1,328 @@
+package dev.sharanggupta.gatewayserver.config.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR;
+
+/**
+ * Caches successful GET responses of a route in memory, keyed on path and query. Each route gets its
+ * own cache bounded by the total size of the cached bodies. Entries live for the route's time to
+ * live unless the upstream response sets {@code Cache-Control: max-age}, and responses marked
+ * {@code no-store}, {@code no-cache} or {@code private} are never stored. Concurrent misses for the
+ * same key are coalesced: the first request goes upstream and the others are answered with its
+ * response.
+ *
+ * <p>A write on the route, i.e. a request other than GET, HEAD or OPTIONS to one of the route's
+ * invalidating paths (any path when none are configured), drops cached responses. A write that names
+ * its mobile numbers, in a {@code mobileNumber} query parameter or in the {@code mobileNumber} fields
+ * of a JSON body of up to 64KB (an object, or an array of objects), only drops the entries of those
+ * mobile numbers and those without one; any other write clears the route's cache. Writes that do
+ * not pass through this gateway instance are not seen, so those entries only go stale for the time
+ * to live. Paths whose responses depend on other routes' data, which their writes cannot drop, can
+ * be left out of the cache with {@code uncachedPaths}.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCacheGatewayFilterFactory.class);
+
+    private static final String MOBILE_NUMBER = "mobileNumber";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final long MAX_INSPECTED_BODY_BYTES = 64 * 1024;
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|[,\\s])(s-maxage|max-age)=(\\d+)");
+    private static final List<String> UNCACHED_HEADERS = List.of(HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.CONNECTION, FilterUtility.CORRELATION_ID, ServerTimingFilter.SERVER_TIMING);
+
+    public ResponseCacheGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        AsyncCache<String, CachedResponse> cache = Caffeine.newBuilder()
+                .maximumWeight(config.getSize().toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .expireAfter(new CachedResponseExpiry())
+                .buildAsync();
+        long defaultTimeToLiveNanos = config.getTimeToLive().toNanos();
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (!HttpMethod.GET.equals(request.getMethod())) {
+                if (!isInvalidatingWrite(request, config.getInvalidatingPaths())) {
+                    return chain.filter(exchange);
+                }
+                String mobileNumber = request.getQueryParams().getFirst(MOBILE_NUMBER);
+                if (mobileNumber != null) {
+                    invalidate(cache, List.of(mobileNumber));
+                    return chain.filter(exchange);
+                }
+                if (!hasSmallJsonBody(request)) {
+                    invalidate(cache, null);
+                    return chain.filter(exchange);
+                }
+                // Charges, repayments and updates carry their mobile numbers in the body.
+                return ServerWebExchangeUtils.cacheRequestBodyAndRequest(exchange, cachedRequest -> {
+                    invalidate(cache, mobileNumbers(exchange.getAttribute(CACHED_REQUEST_BODY_ATTR)));
+                    return chain.filter(exchange.mutate().request(cachedRequest).build());
+                });
+            }
+            if (isUncacheable(request.getHeaders().getCacheControl())
+                    || config.getUncachedPaths().contains(request.getURI().getRawPath())) {
+                return chain.filter(exchange);
+            }
+
+            String key = key(request);
+            CompletableFuture<CachedResponse> pending = new CompletableFuture<>();
+            CompletableFuture<CachedResponse> existing = cache.asMap().putIfAbsent(key, pending);
+            if (existing != null) {
+                logger.debug("Response cache hit for {}", key);
+                return Mono.fromFuture(existing, true)
+                        .flatMap(cached -> write(exchange.getResponse(), cached))
+                        .onErrorResume(e -> chain.filter(exchange));
+            }
+
+            ServerHttpResponse capturingResponse =
+                    new CapturingResponse(exchange, pending, defaultTimeToLiveNanos);
+            return chain.filter(exchange.mutate().response(capturingResponse).build())
+                    .doOnError(pending::completeExceptionally)
+                    .doFinally(signal -> {
+                        if (!pending.isDone()) {
+                            pending.completeExceptionally(new IllegalStateException("No cacheable response body"));
+                        }
+                    });
+        };
+    }
+
+    private static boolean isInvalidatingWrite(ServerHttpRequest request, List<String> invalidatingPaths) {
+        HttpMethod method = request.getMethod();
+        return !HttpMethod.HEAD.equals(method) && !HttpMethod.OPTIONS.equals(method)
+                && (invalidatingPaths == null || invalidatingPaths.contains(request.getURI().getRawPath()));
+    }
+
+    /** Drops the entries of the mobile numbers and those without one, or every entry for {@code null}. */
+    private static void invalidate(AsyncCache<String, CachedResponse> cache, List<String> mobileNumbers) {
+        if (mobileNumbers == null) {
+            cache.synchronous().invalidateAll();
+            return;
+        }
+        cache.asMap().keySet().removeIf(key -> {
+            String cachedMobileNumber = UriComponentsBuilder.fromUriString(key).build()
+                    .getQueryParams().getFirst(MOBILE_NUMBER);
+            return cachedMobileNumber == null || mobileNumbers.contains(cachedMobileNumber);
+        });
+    }
+
+    /** Whether the body is JSON small enough to read up front; bulk uploads are streamed instead. */
+    private static boolean hasSmallJsonBody(ServerHttpRequest request) {
+        long contentLength = request.getHeaders().getContentLength();
+        MediaType contentType = request.getHeaders().getContentType();
+        return contentLength > 0 && contentLength <= MAX_INSPECTED_BODY_BYTES
+                && contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(contentType);
+    }
+
+    /**
+     * Reads the mobile numbers a JSON request body writes, from a single object or from every object
+     * of an array. Returns {@code null} when the body does not name one for every object it holds.
+     */
+    private static List<String> mobileNumbers(DataBuffer body) {
+        if (body == null) {
+            return null;
+        }
+        JsonNode json;
+        try {
+            json = OBJECT_MAPPER.readTree(body.toString(body.readPosition(), body.readableByteCount(),
+                    StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        List<String> mobileNumbers = new ArrayList<>();
+        for (JsonNode item : json.isArray() ? json : List.of(json)) {
+            JsonNode mobileNumber = item.path(MOBILE_NUMBER);
+            if (!mobileNumber.isTextual()) {
+                return null;
+            }
+            mobileNumbers.add(mobileNumber.asText());
+        }
+        return mobileNumbers.isEmpty() ? null : mobileNumbers;
+    }
+
+    private static String key(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String path = request.getURI().getRawPath();
+        return query == null ? path : path + '?' + query;
+    }
+
+    private static boolean isUncacheable(String cacheControl) {
+        return cacheControl != null
+                && (cacheControl.contains("no-store") || cacheControl.contains("no-cache")
+                || cacheControl.contains("private"));
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, CachedResponse cached) {
+        response.setStatusCode(cached.status());
+        response.getHeaders().putAll(cached.headers());
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Passes the upstream response through to the client while keeping a copy of it, which
+     * completes the pending cache entry.
+     */
+    private static class CapturingResponse extends ServerHttpResponseDecorator {
+        private final ServerWebExchange exchange;
+        private final CompletableFuture<CachedResponse> pending;
+        private final long defaultTimeToLiveNanos;
+
+        CapturingResponse(ServerWebExchange exchange, CompletableFuture<CachedResponse> pending,
+                          long defaultTimeToLiveNanos) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.pending = pending;
+            this.defaultTimeToLiveNanos = defaultTimeToLiveNanos;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                pending.complete(capture(bytes));
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        private CachedResponse capture(byte[] body) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(getHeaders());
+            UNCACHED_HEADERS.forEach(headers::remove);
+            HttpStatusCode status = getStatusCode() == null ? HttpStatus.OK : getStatusCode();
+            return new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body,
+                    timeToLiveNanos(status, getHeaders().getCacheControl()));
+        }
+
+        private long timeToLiveNanos(HttpStatusCode status, String cacheControl) {
+            boolean fallback = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR) != null;
+            if (fallback || status.value() != HttpStatus.OK.value() || isUncacheable(cacheControl)) {
+                return 0;
+            }
+            if (cacheControl != null) {
+                Matcher maxAge = MAX_AGE.matcher(cacheControl);
+                long seconds = -1;
+                while (maxAge.find()) {
+                    if (seconds < 0 || maxAge.group(1).equals("s-maxage")) {
+                        seconds = Long.parseLong(maxAge.group(2));
+                    }
+                }
+                if (seconds >= 0) {
+                    return TimeUnit.SECONDS.toNanos(seconds);
+                }
+            }
+            return defaultTimeToLiveNanos;
+        }
+    }
+
+    /**
+     * A response served from the cache. A time to live of zero means the response is only handed to
+     * the requests coalesced with it and is not kept.
+     */
+    private record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, long timeToLiveNanos) {
+    }
+
+    private static class CachedResponseExpiry implements Expiry<String, CachedResponse> {
+        @Override
+        public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+            return response.timeToLiveNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return response.timeToLiveNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    public static class Config {
+        private Duration timeToLive = Duration.ofSeconds(30);
+        private DataSize size = DataSize.ofMegabytes(10);
+        private List<String> invalidatingPaths;
+        private List<String> uncachedPaths = List.of();
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public Config setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        public DataSize getSize() {
+            return size;
+        }
+
+        public Config setSize(DataSize size) {
+            this.size = size;
+            return this;
+        }
+
+        public List<String> getInvalidatingPaths() {
+            return invalidatingPaths;
+        }
+
+        public Config setInvalidatingPaths(String... invalidatingPaths) {
+            this.invalidatingPaths = List.of(invalidatingPaths);
+            return this;
+        }
+
+        public List<String> getUncachedPaths() {
+            return uncachedPaths;
+        }
+
+        public Config setUncachedPaths(String... uncachedPaths) {
+            this.uncachedPaths = List.of(uncachedPaths);
+            return this;
+        }
+    }
+}
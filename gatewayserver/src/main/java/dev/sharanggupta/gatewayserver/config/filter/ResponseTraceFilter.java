@@ -2,10 +2,12 @@ package dev.sharanggupta.gatewayserver.config.filter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpHeaders;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 @Configuration
@@ -19,11 +21,26 @@ public class ResponseTraceFilter {
 
     @Bean
     public GlobalFilter postGlobalFilter() {
-        return (exchange, chain) -> chain.filter(exchange).then(Mono.fromRunnable(() -> {
-            HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
-            String correlationId = filterUtility.getCorrelationId(requestHeaders);
-            logger.debug("Updated the correlation id to the outbound headers: {}", correlationId);
-            exchange.getResponse().getHeaders().add(filterUtility.CORRELATION_ID, correlationId);
-        }));
+        return new CorrelationIdResponseFilter();
+    }
+
+    private class CorrelationIdResponseFilter implements GlobalFilter, Ordered {
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            exchange.getResponse().beforeCommit(() -> {
+                String correlationId = filterUtility.getCorrelationId(exchange);
+                if (correlationId != null) {
+                    logger.debug("Updated the correlation id to the outbound headers: {}", correlationId);
+                    exchange.getResponse().getHeaders().set(FilterUtility.CORRELATION_ID, correlationId);
+                }
+                return Mono.empty();
+            });
+            return chain.filter(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return FilterUtility.TRACE_FILTER_ORDER;
+        }
     }
 }
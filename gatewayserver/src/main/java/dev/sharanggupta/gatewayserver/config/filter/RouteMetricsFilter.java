@@ -0,0 +1,84 @@
+package dev.sharanggupta.gatewayserver.config.filter;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records a {@code gateway.route.latency} timer per route with percentile histograms, tagged with
+ * the response status class, the state of the route's circuit breaker and whether the request was
+ * answered by the circuit breaker fallback.
+ */
+@Component
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    public static final String CIRCUIT_BREAKER_METADATA = "circuitBreaker";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final MeterProvider<Timer> routeLatency;
+
+    public RouteMetricsFilter(MeterRegistry meterRegistry, CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.routeLatency = Timer.builder("gateway.route.latency")
+                .description("Time taken by the gateway to answer a request on a route")
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> record(exchange, System.nanoTime() - start));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private void record(ServerWebExchange exchange, long elapsedNanos) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return;
+        }
+        Tags tags = Tags.of(
+                "route", route.getId(),
+                "status", statusClass(exchange.getResponse().getStatusCode()),
+                "circuitBreakerState", circuitBreakerState(route),
+                "fallback", String.valueOf(
+                        exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR) != null));
+        routeLatency.withTags(tags).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private String circuitBreakerState(Route route) {
+        Object circuitBreakerName = route.getMetadata().get(CIRCUIT_BREAKER_METADATA);
+        if (circuitBreakerName == null) {
+            return "NONE";
+        }
+        return circuitBreakerRegistry.find(circuitBreakerName.toString())
+                .map(CircuitBreaker::getState)
+                .map(Enum::name)
+                .orElse("NONE");
+    }
+
+    private static String statusClass(HttpStatusCode statusCode) {
+        if (statusCode == null) {
+            return "UNKNOWN";
+        }
+        return (statusCode.value() / 100) + "xx";
+    }
+}
@@ -0,0 +1,82 @@
+package dev.sharanggupta.gatewayserver.config.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Measures each routed request with {@link System#nanoTime()} and reports the time spent waiting on
+ * the upstream service and the total time spent in the gateway as {@code Server-Timing} headers.
+ * {@link #total()} wraps the whole route filter chain while {@link #upstream()} runs just before
+ * the Netty routing filter, so it covers the call to the service until its response headers arrive.
+ */
+@Component
+public class ServerTimingFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private static final String START_ATTR = ServerTimingFilter.class.getName() + ".start";
+    private static final String UPSTREAM_ATTR = ServerTimingFilter.class.getName() + ".upstream";
+
+    private final GatewayFilter total = new OrderedGatewayFilter((exchange, chain) -> {
+        exchange.getAttributes().put(START_ATTR, System.nanoTime());
+        exchange.getResponse().beforeCommit(() -> {
+            long end = System.nanoTime();
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            Long upstreamNanos = exchange.getAttribute(UPSTREAM_ATTR);
+            if (upstreamNanos != null) {
+                headers.add(SERVER_TIMING, metric("upstream", upstreamNanos));
+            }
+            Long start = exchange.getAttribute(START_ATTR);
+            headers.add(SERVER_TIMING, metric("total", end - start));
+            return Mono.empty();
+        });
+        return chain.filter(exchange);
+    }, Ordered.HIGHEST_PRECEDENCE);
+
+    // Recorded before the signal travels on: on completion the response is written, and its headers
+    // committed, before a doFinally would run.
+    private final GatewayFilter upstream = new OrderedGatewayFilter((exchange, chain) -> {
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doOnSuccess(done -> recordUpstream(exchange, System.nanoTime() - start))
+                .doOnError(error -> recordUpstream(exchange, System.nanoTime() - start))
+                .doOnCancel(() -> recordUpstream(exchange, System.nanoTime() - start));
+    }, NettyRoutingFilter.ORDER - 1);
+
+    /** Replaces the measured upstream time, for filters that answer from a call of their own. */
+    static void recordUpstream(ServerWebExchange exchange, long nanos) {
+        exchange.getAttributes().put(UPSTREAM_ATTR, nanos);
+    }
+
+    public GatewayFilter total() {
+        return total;
+    }
+
+    public GatewayFilter upstream() {
+        return upstream;
+    }
+
+    /**
+     * Formats a metric as {@code name;dur=<millis>} with microsecond precision, which is the unit
+     * the Server-Timing header expects.
+     */
+    static String metric(String name, long nanos) {
+        long micros = nanos / 1_000;
+        long fraction = micros % 1_000;
+        StringBuilder metric = new StringBuilder(name.length() + 20)
+                .append(name).append(";dur=").append(micros / 1_000).append('.');
+        if (fraction < 100) {
+            metric.append('0');
+        }
+        if (fraction < 10) {
+            metric.append('0');
+        }
+        return metric.append(fraction).toString();
+    }
+}
@@ -0,0 +1,56 @@
+package dev.sharanggupta.gatewayserver.config.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.addOriginalRequestUrl;
+
+/**
+ * Removes a fixed prefix such as {@code /eazybank/account} from the request path. It does the same
+ * job as {@code rewritePath("/eazybank/account/(?<segment>.*)", "/${segment}")} with a
+ * {@code startsWith} check and a substring instead of running a regex for every request.
+ */
+@Component
+public class StripRoutePrefixGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<StripRoutePrefixGatewayFilterFactory.Config> {
+
+    public StripRoutePrefixGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String prefix = config.getPrefix().endsWith("/")
+                ? config.getPrefix().substring(0, config.getPrefix().length() - 1)
+                : config.getPrefix();
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String path = request.getURI().getRawPath();
+            if (!path.startsWith(prefix)
+                    || (path.length() > prefix.length() && path.charAt(prefix.length()) != '/')) {
+                return chain.filter(exchange);
+            }
+            addOriginalRequestUrl(exchange, request.getURI());
+            String strippedPath = path.length() == prefix.length() ? "/" : path.substring(prefix.length());
+            ServerHttpRequest stripped = request.mutate().path(strippedPath).build();
+            exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, stripped.getURI());
+            return chain.filter(exchange.mutate().request(stripped).build());
+        };
+    }
+
+    public static class Config {
+        private String prefix;
+
+        public String getPrefix() {
+            return prefix;
+        }
+
+        public Config setPrefix(String prefix) {
+            this.prefix = prefix;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package dev.sharanggupta.gatewayserver.config.loadbalancer;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycleValidator;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Set;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Reports load-balanced requests that are cancelled to the load balancer's lifecycle as
+ * {@code DISCARD}. The gateway's load balancer filter and the load-balanced {@code WebClient} only
+ * report responses and errors, so without it a request cancelled by a hedge that won, a circuit
+ * breaker's time limiter, a timeout or a client that went away would count as in flight forever,
+ * and the peak-EWMA balancer would stop picking its instance.
+ *
+ * <p>The filter runs right behind the load balancer filter and the hedging filter, which cancels
+ * the request it did not pick through it.
+ */
+@Component
+public class LoadBalancerCancellationFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 2;
+
+    private final ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory;
+
+    public LoadBalancerCancellationFilter(ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory) {
+        this.loadBalancerFactory = loadBalancerFactory;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> lbResponse = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (lbResponse == null || !lbResponse.hasServer() || route == null) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange).doOnCancel(() -> discard(route.getUri().getHost(),
+                new RequestData(exchange.getRequest()), lbResponse));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * Wraps the load-balanced {@code WebClient}'s load balancer filter, so that the request it sends
+     * to the picked instance is reported as discarded when it is cancelled.
+     */
+    public ExchangeFilterFunction around(ExchangeFilterFunction loadBalancer) {
+        return (request, next) -> {
+            String serviceId = request.url().getHost();
+            return loadBalancer.filter(request, balanced -> next.exchange(balanced)
+                    .doOnCancel(() -> discard(serviceId, new RequestData(balanced), instance(serviceId, balanced))));
+        };
+    }
+
+    private void discard(String serviceId, RequestData requestData, Response<ServiceInstance> lbResponse) {
+        Set<LoadBalancerLifecycle> lifecycles = LoadBalancerLifecycleValidator.getSupportedLifecycleProcessors(
+                loadBalancerFactory.getInstances(serviceId, LoadBalancerLifecycle.class),
+                RequestDataContext.class, ResponseData.class, ServiceInstance.class);
+        Request<RequestDataContext> lbRequest = new DefaultRequest<>(new RequestDataContext(requestData));
+        lifecycles.forEach(lifecycle -> lifecycle.onComplete(new CompletionContext<>(
+                CompletionContext.Status.DISCARD, lbRequest, lbResponse)));
+    }
+
+    /** The instance a balanced request was sent to; the balancers only tell instances apart by address. */
+    private static Response<ServiceInstance> instance(String serviceId, ClientRequest balanced) {
+        URI url = balanced.url();
+        return new DefaultResponse(new DefaultServiceInstance(null, serviceId, url.getHost(), url.getPort(),
+                "https".equals(url.getScheme())));
+    }
+}
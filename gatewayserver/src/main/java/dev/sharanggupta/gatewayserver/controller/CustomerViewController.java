@@ -0,0 +1,40 @@
+package dev.sharanggupta.gatewayserver.controller;
+
+import dev.sharanggupta.gatewayserver.config.filter.FilterUtility;
+import dev.sharanggupta.gatewayserver.dto.CustomerViewDto;
+import dev.sharanggupta.gatewayserver.service.CustomerViewService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.regex.Pattern;
+
+@RestController
+public class CustomerViewController {
+
+    private static final Pattern MOBILE_NUMBER = Pattern.compile("[0-9]{10}");
+
+    private final CustomerViewService customerViewService;
+    private final FilterUtility filterUtility;
+
+    public CustomerViewController(CustomerViewService customerViewService, FilterUtility filterUtility) {
+        this.customerViewService = customerViewService;
+        this.filterUtility = filterUtility;
+    }
+
+    @GetMapping("/eazybank/customer-view")
+    public Mono<CustomerViewDto> fetchCustomerView(@RequestParam String mobileNumber, ServerHttpRequest request) {
+        if (!MOBILE_NUMBER.matcher(mobileNumber).matches()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Mobile number must be 10 digits"));
+        }
+        String correlationId = filterUtility.getCorrelationId(request.getHeaders());
+        if (correlationId == null) {
+            correlationId = filterUtility.generateCorrelationId();
+        }
+        return customerViewService.fetchCustomerView(mobileNumber, correlationId);
+    }
+}
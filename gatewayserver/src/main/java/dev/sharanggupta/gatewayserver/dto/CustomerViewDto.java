@@ -0,0 +1,13 @@
+package dev.sharanggupta.gatewayserver.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * The customer, card and loan documents of one customer as returned by the backends. A section is
+ * {@code null} when its backend did not answer in time or failed, and is then listed in
+ * {@code unavailable}.
+ */
+public record CustomerViewDto(JsonNode customer, JsonNode card, JsonNode loan, List<String> unavailable) {
+}
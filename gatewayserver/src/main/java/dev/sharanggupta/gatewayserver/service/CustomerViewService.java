@@ -0,0 +1,9 @@
+package dev.sharanggupta.gatewayserver.service;
+
+import dev.sharanggupta.gatewayserver.dto.CustomerViewDto;
+import reactor.core.publisher.Mono;
+
+public interface CustomerViewService {
+
+    Mono<CustomerViewDto> fetchCustomerView(String mobileNumber, String correlationId);
+}
@@ -0,0 +1,86 @@
+package dev.sharanggupta.gatewayserver.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import dev.sharanggupta.gatewayserver.config.CustomerViewProperties;
+import dev.sharanggupta.gatewayserver.config.filter.FilterUtility;
+import dev.sharanggupta.gatewayserver.dto.CustomerViewDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fetches the account, card and loan documents of a customer concurrently, each with its own
+ * timeout. A leg that fails or times out leaves its section empty instead of failing the view,
+ * except that a customer the account service does not know is reported as not found.
+ */
+@Service
+public class CustomerViewServiceImpl implements CustomerViewService {
+    private static final Logger logger = LoggerFactory.getLogger(CustomerViewServiceImpl.class);
+
+    private final WebClient webClient;
+    private final CustomerViewProperties properties;
+
+    public CustomerViewServiceImpl(WebClient.Builder loadBalancedWebClientBuilder, CustomerViewProperties properties) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<CustomerViewDto> fetchCustomerView(String mobileNumber, String correlationId) {
+        Mono<Optional<JsonNode>> customer = fetch("account", "http://ACCOUNT/api/fetch", mobileNumber,
+                correlationId, properties.getAccountTimeout());
+        Mono<Optional<JsonNode>> card = fetch("card", "http://CARD/api/fetch", mobileNumber,
+                correlationId, properties.getCardTimeout());
+        Mono<Optional<JsonNode>> loan = fetch("loan", "http://LOAN/api/fetch", mobileNumber,
+                correlationId, properties.getLoanTimeout());
+        return Mono.zip(customer, card, loan).map(legs -> {
+            List<String> unavailable = new ArrayList<>(3);
+            if (legs.getT1().isEmpty()) {
+                unavailable.add("account");
+            }
+            if (legs.getT2().isEmpty()) {
+                unavailable.add("card");
+            }
+            if (legs.getT3().isEmpty()) {
+                unavailable.add("loan");
+            }
+            return new CustomerViewDto(legs.getT1().orElse(null), legs.getT2().orElse(null),
+                    legs.getT3().orElse(null), unavailable);
+        });
+    }
+
+    private Mono<Optional<JsonNode>> fetch(String leg, String url, String mobileNumber, String correlationId,
+                                           Duration timeout) {
+        return webClient.get()
+                .uri(url + "?mobileNumber={mobileNumber}", mobileNumber)
+                .header(FilterUtility.CORRELATION_ID, correlationId)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(e -> {
+                    if ("account".equals(leg) && e instanceof WebClientResponseException.NotFound) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND,
+                                "Customer not found with the given input data mobileNumber : '" + mobileNumber + "'"));
+                    }
+                    if (e instanceof WebClientResponseException.NotFound) {
+                        // The customer has no card or loan, which is an answer rather than a failure.
+                        return Mono.just(Optional.of(NullNode.getInstance()));
+                    }
+                    logger.debug("The {} leg of the customer view failed: {}", leg, e.toString());
+                    return Mono.just(Optional.empty());
+                });
+    }
+}
@@ -0,0 +1,103 @@
+package dev.sharanggupta.gatewayserver.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures what gzip costs and saves on the payloads the gateway serves: the contact info document,
+ * one customer's details and a batch of 100 customer details. The compressed and uncompressed sizes
+ * are printed at setup; the benchmarks give the time the gateway spends compressing a response and a
+ * client spends decompressing it, to weigh against the transfer time saved on the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({"contactInfo", "customerDetails", "customerDetailsBatch"})
+    public String payload;
+
+    private byte[] identity;
+    private byte[] gzipped;
+
+    @Setup
+    public void setUp() throws IOException {
+        identity = switch (payload) {
+            case "contactInfo" -> contactInfo().getBytes(StandardCharsets.UTF_8);
+            case "customerDetails" -> customerDetails(0).getBytes(StandardCharsets.UTF_8);
+            default -> IntStream.range(0, 100).mapToObj(CompressionBenchmark::customerDetails)
+                    .collect(Collectors.joining(",", "[", "]")).getBytes(StandardCharsets.UTF_8);
+        };
+        gzipped = gzip(identity);
+        System.out.printf("%n%s: %d bytes uncompressed, %d bytes gzipped (%.0f%%)%n", payload, identity.length,
+                gzipped.length, 100.0 * gzipped.length / identity.length);
+    }
+
+    @Benchmark
+    public byte[] gzip() throws IOException {
+        return gzip(identity);
+    }
+
+    @Benchmark
+    public byte[] gunzip() throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static String contactInfo() {
+        return """
+                {"message":"Welcome to EazyBank accounts related docker APIs","contactDetails":\
+                {"name":"John Doe - Developer","email":"john@eazybank.com"},\
+                "onCallSupport":["(555) 555-1234","(555) 523-1345"]}""";
+    }
+
+    private static String customerDetails(int i) {
+        String mobileNumber = String.valueOf(9_234_567_890L + i);
+        return """
+                {"name":"Customer %1$d","email":"customer%1$d@example.com","mobileNumber":"%2$s",\
+                "accountDto":{"accountNumber":%3$d,"accountType":"Savings","branchAddress":"123 Main Street, New York"},\
+                "loanDto":{"mobileNumber":"%2$s","loanNumber":"%4$d","loanType":"Home Loan",\
+                "totalLoan":100000,"amountPaid":1000,"outstandingAmount":99000},\
+                "cardDto":{"mobileNumber":"%2$s","cardNumber":"%5$d","cardType":"Credit Card",\
+                "totalLimit":100000,"amountUsed":1000,"availableAmount":99000}}"""
+                .formatted(i, mobileNumber, 1_000_000_000L + i, 100_000_000_000L + i, 200_000_000_000L + i);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CompressionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,138 @@
+package dev.sharanggupta.gatewayserver.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import dev.sharanggupta.gatewayserver.config.filter.FilterUtility;
+import dev.sharanggupta.gatewayserver.config.filter.RequestTraceFilter;
+import dev.sharanggupta.gatewayserver.config.filter.ResponseTraceFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares correlation id propagation through {@link RequestTraceFilter} and
+ * {@link ResponseTraceFilter} with the previous implementation, which looked the header up with
+ * streams several times per request and generated ids with {@link UUID#randomUUID()}. The chain is
+ * wrapped in a filter that commits the response afterwards, like {@code NettyWriteResponseFilter}.
+ * {@code incomingId} switches between requests that carry a correlation id and requests that need
+ * one generated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class CorrelationIdBenchmark {
+
+    private static final GatewayFilterChain TERMINAL = exchange -> Mono.empty();
+    private static final GlobalFilter WRITE_RESPONSE = (exchange, chain) ->
+            chain.filter(exchange).then(Mono.defer(() -> exchange.getResponse().setComplete()));
+
+    @Param({"true", "false"})
+    public boolean incomingId;
+
+    private GatewayFilterChain previousChain;
+    private GatewayFilterChain currentChain;
+
+    @Setup
+    public void setUp() {
+        // Both versions log at debug, which would otherwise dominate the measurement.
+        ((Logger) LoggerFactory.getLogger("dev.sharanggupta")).setLevel(Level.INFO);
+        FilterUtility filterUtility = new FilterUtility();
+        currentChain = chain(List.of(WRITE_RESPONSE, new RequestTraceFilter(filterUtility),
+                new ResponseTraceFilter(filterUtility).postGlobalFilter()), 0);
+        previousChain = chain(List.of(WRITE_RESPONSE, PreviousFilters.requestTrace(filterUtility),
+                PreviousFilters.responseTrace()), 0);
+    }
+
+    @Benchmark
+    public Void previous() {
+        return previousChain.filter(exchange()).block();
+    }
+
+    @Benchmark
+    public Void current() {
+        return currentChain.filter(exchange()).block();
+    }
+
+    private ServerWebExchange exchange() {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/eazybank/account/api/fetch");
+        if (incomingId) {
+            request.header(FilterUtility.CORRELATION_ID, "2c6b5a1e-8f0d-4c3b-9a7e-3f1d2b4c5e6f");
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    private static GatewayFilterChain chain(List<GlobalFilter> filters, int index) {
+        if (index == filters.size()) {
+            return TERMINAL;
+        }
+        GatewayFilterChain next = chain(filters, index + 1);
+        return exchange -> filters.get(index).filter(exchange, next);
+    }
+
+    /**
+     * The request and response trace filters as they were before the correlation id was kept in the
+     * exchange attributes.
+     */
+    private static class PreviousFilters {
+
+        static String getCorrelationId(HttpHeaders requestHeaders) {
+            if (requestHeaders.get(FilterUtility.CORRELATION_ID) != null) {
+                List<String> requestHeaderList = requestHeaders.get(FilterUtility.CORRELATION_ID);
+                return requestHeaderList.stream().findFirst().get();
+            } else {
+                return null;
+            }
+        }
+
+        static GlobalFilter requestTrace(FilterUtility filterUtility) {
+            return (exchange, chain) -> {
+                HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+                if (getCorrelationId(requestHeaders) == null) {
+                    exchange = filterUtility.setCorrelationId(exchange, UUID.randomUUID().toString());
+                } else {
+                    getCorrelationId(requestHeaders);
+                }
+                return chain.filter(exchange);
+            };
+        }
+
+        static GlobalFilter responseTrace() {
+            return (exchange, chain) -> chain.filter(exchange).then(Mono.fromRunnable(() -> {
+                String correlationId = getCorrelationId(exchange.getRequest().getHeaders());
+                exchange.getResponse().getHeaders().add(FilterUtility.CORRELATION_ID, correlationId);
+            }));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CorrelationIdBenchmark.class.getSimpleName()).build()).run();
+    }
+}
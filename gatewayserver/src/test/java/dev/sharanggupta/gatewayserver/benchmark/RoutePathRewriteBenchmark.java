@@ -0,0 +1,126 @@
+package dev.sharanggupta.gatewayserver.benchmark;
+
+import dev.sharanggupta.gatewayserver.config.filter.ConcurrencyLimitGatewayFilterFactory;
+import dev.sharanggupta.gatewayserver.config.filter.LocalRateLimiter;
+import dev.sharanggupta.gatewayserver.config.filter.ServerTimingFilter;
+import dev.sharanggupta.gatewayserver.config.filter.StripRoutePrefixGatewayFilterFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.RequestRateLimiterGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.factory.RewritePathGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the regex {@code rewritePath} the routes used to use with the prefix strip filter, alone
+ * and as part of the per-route filter chain of {@code RoutingConfig}. {@code exchangeOnly} measures
+ * the cost of building the mock exchange that every other benchmark pays as well.
+ * <p>
+ * See the README for how to run it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RoutePathRewriteBenchmark {
+
+    private static final String PATH = "/eazybank/account/api/fetch?mobileNumber=9234567890";
+    private static final GatewayFilterChain TERMINAL = exchange -> exchange.getResponse().setComplete();
+    private static final Route ROUTE = Route.async()
+            .id("account_route")
+            .uri("lb://ACCOUNT")
+            .predicate(exchange -> true)
+            .build();
+
+    private GatewayFilter regexRewrite;
+    private GatewayFilter prefixStrip;
+    private GatewayFilterChain regexChain;
+    private GatewayFilterChain prefixStripChain;
+
+    @Setup
+    public void setUp() {
+        regexRewrite = new RewritePathGatewayFilterFactory().apply(config -> config
+                .setRegexp("/eazybank/account/(?<segment>.*)")
+                .setReplacement("/${segment}"));
+        prefixStrip = new StripRoutePrefixGatewayFilterFactory().apply(config -> config.setPrefix("/eazybank/account"));
+
+        ServerTimingFilter serverTimingFilter = new ServerTimingFilter();
+        KeyResolver keyResolver = exchange -> Mono.just("benchmark");
+        GatewayFilter rateLimiter = new RequestRateLimiterGatewayFilterFactory(
+                new LocalRateLimiter(1_000_000, 1_000_000), keyResolver).apply(config -> { });
+        GatewayFilter concurrencyLimit = new ConcurrencyLimitGatewayFilterFactory()
+                .apply(config -> config.setInitialLimit(1_000).setMaxLimit(1_000));
+        regexChain = chain(List.of(regexRewrite, serverTimingFilter.total(), rateLimiter,
+                serverTimingFilter.upstream(), concurrencyLimit), 0);
+        prefixStripChain = chain(List.of(prefixStrip, serverTimingFilter.total(), rateLimiter,
+                serverTimingFilter.upstream(), concurrencyLimit), 0);
+    }
+
+    @Benchmark
+    public ServerWebExchange exchangeOnly() {
+        return exchange();
+    }
+
+    @Benchmark
+    public Void regexRewrite() {
+        return regexRewrite.filter(exchange(), TERMINAL).block();
+    }
+
+    @Benchmark
+    public Void prefixStrip() {
+        return prefixStrip.filter(exchange(), TERMINAL).block();
+    }
+
+    @Benchmark
+    public Void regexRewriteFilterChain() {
+        return regexChain.filter(exchange()).block();
+    }
+
+    @Benchmark
+    public Void prefixStripFilterChain() {
+        return prefixStripChain.filter(exchange()).block();
+    }
+
+    private static ServerWebExchange exchange() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(PATH));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, ROUTE);
+        return exchange;
+    }
+
+    private static GatewayFilterChain chain(List<GatewayFilter> filters, int index) {
+        if (index == filters.size()) {
+            return TERMINAL;
+        }
+        GatewayFilterChain next = chain(filters, index + 1);
+        return exchange -> filters.get(index).filter(exchange, next);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RoutePathRewriteBenchmark.class.getSimpleName()).build()).run();
+    }
+}
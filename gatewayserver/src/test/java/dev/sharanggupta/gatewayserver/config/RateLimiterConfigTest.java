@@ -0,0 +1,30 @@
+package dev.sharanggupta.gatewayserver.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterConfigTest {
+
+    private final KeyResolver keyResolver = new RateLimiterConfig().clientKeyResolver();
+
+    @Test
+    void keysOnTheCallersAddressWhateverClientIdItSends() {
+        MockServerWebExchange first = exchange("first");
+        MockServerWebExchange second = exchange("second");
+
+        assertThat(keyResolver.resolve(first).block()).isEqualTo("10.0.0.7");
+        assertThat(keyResolver.resolve(second).block()).isEqualTo("10.0.0.7");
+    }
+
+    private static MockServerWebExchange exchange(String clientId) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/eazybank/card/api/fetch")
+                .header("eazybank-client-id", clientId)
+                .remoteAddress(new InetSocketAddress("10.0.0.7", 52144)));
+    }
+}
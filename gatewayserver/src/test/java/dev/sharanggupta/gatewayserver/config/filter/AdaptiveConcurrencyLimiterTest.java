@@ -0,0 +1,55 @@
+package dev.sharanggupta.gatewayserver.config.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 5, 100);
+
+    @Test
+    void rejectsRequestsOverTheLimit() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(20);
+    }
+
+    @Test
+    void growsWhileLatencyIsSteadyAndShrinksWhenTheBackendSlowsDown() {
+        saturate(FAST, 200);
+        int grownLimit = limiter.getLimit();
+        assertThat(grownLimit).isGreaterThan(20);
+
+        saturate(SLOW, 5);
+        assertThat(limiter.getLimit()).isLessThan(grownLimit / 2);
+    }
+
+    @Test
+    void backsOffOnDropsButNotBelowTheMinimum() {
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    private void saturate(long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package dev.sharanggupta.gatewayserver.config.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitGatewayFilterFactoryTest {
+
+    private final GatewayFilterChain hangingUpstream = exchange -> Mono.never();
+
+    private final GatewayFilter filter = new ConcurrencyLimitGatewayFilterFactory()
+            .apply(new ConcurrencyLimitGatewayFilterFactory.Config()
+                    .setInitialLimit(2).setMinLimit(1).setMaxLimit(2)
+                    .setTimeLimit(Duration.ofMillis(100)));
+
+    @Test
+    void countsARequestCancelledByTheTimeLimitAsADrop() {
+        cancelAfter(Duration.ofMillis(150));
+
+        assertThat(admitted()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyFreesTheSlotOfARequestCancelledBeforeTheTimeLimit() {
+        cancelAfter(Duration.ofMillis(10));
+
+        assertThat(admitted()).isEqualTo(2);
+    }
+
+    private void cancelAfter(Duration timeout) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/fetch"));
+        assertThatThrownBy(() -> filter.filter(exchange, hangingUpstream).timeout(timeout).block())
+                .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    /** Starts requests that never complete until the filter turns one away. */
+    private int admitted() {
+        for (int admitted = 0; ; admitted++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/fetch"));
+            filter.filter(exchange, hangingUpstream).subscribe();
+            if (exchange.getResponse().getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE) {
+                return admitted;
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package dev.sharanggupta.gatewayserver.config.filter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.ResolvableType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgingGatewayFilterFactoryTest {
+
+    private final RecordingLifecycle lifecycle = new RecordingLifecycle();
+    private DisposableServer slowInstance;
+    private DisposableServer fastInstance;
+    private HedgingGatewayFilterFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        slowInstance = instance("slow", Duration.ofMillis(2_000));
+        fastInstance = instance("fast", Duration.ZERO);
+        ReactiveDiscoveryClient discoveryClient = new ReactiveDiscoveryClient() {
+            @Override
+            public String description() {
+                return "test";
+            }
+
+            @Override
+            public Flux<ServiceInstance> getInstances(String serviceId) {
+                return Flux.just(serviceInstance(slowInstance), serviceInstance(fastInstance));
+            }
+
+            @Override
+            public Flux<String> getServices() {
+                return Flux.just("CARD");
+            }
+        };
+        ObjectProvider<List<HttpHeadersFilter>> headersFilters = new DefaultListableBeanFactory()
+                .getBeanProvider(ResolvableType.forClassWithGenerics(List.class, HttpHeadersFilter.class));
+        ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory = new ReactiveLoadBalancer.Factory<>() {
+            @Override
+            public ReactiveLoadBalancer<ServiceInstance> getInstance(String serviceId) {
+                return null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <X> Map<String, X> getInstances(String name, Class<X> type) {
+                return Map.of("recording", (X) lifecycle);
+            }
+
+            @Override
+            public <X> X getInstance(String name, Class<?> clazz, Class<?>... generics) {
+                return null;
+            }
+        };
+        factory = new HedgingGatewayFilterFactory(HttpClient.create(), discoveryClient, headersFilters,
+                new HttpClientProperties(), loadBalancerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowInstance.disposeNow();
+        fastInstance.disposeNow();
+    }
+
+    @Test
+    void answersFromAnotherInstanceWhenTheFirstIsSlow() {
+        GatewayFilter filter = factory.apply(config -> config.setMaxDelay(Duration.ofMillis(50)).setBudgetPercent(100));
+        MockServerWebExchange exchange = exchange();
+
+        long start = System.nanoTime();
+        filter.filter(exchange, HedgingGatewayFilterFactoryTest::route).block();
+
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("fast");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1_500));
+        assertThat(lifecycle.started).containsExactly(fastInstance.port());
+        assertThat(lifecycle.completed).containsExactly(CompletionContext.Status.SUCCESS);
+    }
+
+    @Test
+    void waitsForTheFirstInstanceWhenTheBudgetIsSpent() {
+        GatewayFilter filter = factory.apply(config -> config.setMaxDelay(Duration.ofMillis(50)).setBudgetPercent(0));
+        MockServerWebExchange exchange = exchange();
+
+        filter.filter(exchange, HedgingGatewayFilterFactoryTest::route).block();
+
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("slow");
+        assertThat(lifecycle.started).isEmpty();
+    }
+
+    @Test
+    void failsWithThePrimaryErrorWhenNoHedgeIsSent() {
+        GatewayFilter filter = factory.apply(config -> config.setMaxDelay(Duration.ofSeconds(2)).setBudgetPercent(0));
+        ConnectException refused = new ConnectException("Connection refused");
+        MockServerWebExchange exchange = exchange();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> filter.filter(exchange, e -> Mono.error(refused)).block())
+                .hasCause(refused);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void percentileCoversTheLatestSamplesOnly() {
+        HedgingGatewayFilterFactory.LatencyPercentile latency =
+                new HedgingGatewayFilterFactory.LatencyPercentile(1.0, Duration.ZERO, Duration.ofSeconds(1));
+        for (long nanos = 1; nanos <= 128; nanos++) {
+            latency.record(nanos);
+        }
+        assertThat(latency.current()).isEqualTo(Duration.ofNanos(128));
+    }
+
+    @Test
+    void budgetCapsHedgesAtTheConfiguredShareOfRequests() {
+        HedgingGatewayFilterFactory.HedgeBudget budget = new HedgingGatewayFilterFactory.HedgeBudget(5);
+        int hedges = 0;
+        for (int i = 0; i < 1_000; i++) {
+            budget.onRequest();
+            if (budget.tryAcquire()) {
+                hedges++;
+            }
+        }
+        assertThat(hedges).isEqualTo(50);
+    }
+
+    private MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/fetch"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR,
+                URI.create("http://localhost:" + slowInstance.port() + "/api/fetch?mobileNumber=9234567890"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id("card_route").uri("lb://CARD").predicate(e -> true).build());
+        return exchange;
+    }
+
+    /** Stands in for the routing filters: calls the chosen instance and writes its response. */
+    private static Mono<Void> route(ServerWebExchange exchange) {
+        URI uri = exchange.getRequiredAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        return HttpClient.create().get().uri(uri)
+                .responseSingle((response, body) -> body.asByteArray())
+                .flatMap(bytes -> exchange.getResponse()
+                        .writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes))));
+    }
+
+    private static DisposableServer instance(String body, Duration delay) {
+        return HttpServer.create()
+                .port(0)
+                .handle((request, response) -> response.sendString(Mono.just(body).delayElement(delay)))
+                .bindNow();
+    }
+
+    private static ServiceInstance serviceInstance(DisposableServer server) {
+        return new DefaultServiceInstance(null, "CARD", "localhost", server.port(), false);
+    }
+
+    private static class RecordingLifecycle
+            implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+        final List<Integer> started = new CopyOnWriteArrayList<>();
+        final List<CompletionContext.Status> completed = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onStart(Request<RequestDataContext> request) {
+        }
+
+        @Override
+        public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+            started.add(lbResponse.getServer().getPort());
+        }
+
+        @Override
+        public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> context) {
+            completed.add(context.status());
+        }
+    }
+}
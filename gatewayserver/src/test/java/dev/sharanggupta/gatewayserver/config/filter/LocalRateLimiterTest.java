@@ -0,0 +1,58 @@
+package dev.sharanggupta.gatewayserver.config.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.http.HttpHeaders;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterTest {
+
+    private final LocalRateLimiter.Config config = new LocalRateLimiter.Config()
+            .setReplenishRate(10)
+            .setBurstCapacity(20);
+    private final LocalRateLimiter rateLimiter = new LocalRateLimiter(config, null);
+
+    @Test
+    void allowsTheBurstThenDeniesWithRetryAfter() {
+        long now = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            assertThat(rateLimiter.tryAcquire(config, "client", now).isAllowed()).isTrue();
+        }
+
+        Response denied = rateLimiter.tryAcquire(config, "client", now);
+
+        assertThat(denied.isAllowed()).isFalse();
+        assertThat(denied.getHeaders()).containsEntry(HttpHeaders.RETRY_AFTER, "1");
+        assertThat(rateLimiter.tryAcquire(config, "other-client", now).isAllowed()).isTrue();
+    }
+
+    @Test
+    void refillsAtTheReplenishRate() {
+        long now = System.nanoTime();
+        IntStream.range(0, 20).forEach(i -> rateLimiter.tryAcquire(config, "client", now));
+
+        long later = now + TimeUnit.MILLISECONDS.toNanos(500);
+
+        assertThat(IntStream.range(0, 10).filter(i -> rateLimiter.tryAcquire(config, "client", later).isAllowed()))
+                .hasSize(5);
+    }
+
+    @Test
+    void grantsExactlyTheBurstUnderContention() {
+        long now = System.nanoTime();
+        AtomicInteger allowed = new AtomicInteger();
+
+        IntStream.range(0, 10_000).parallel().forEach(i -> {
+            if (rateLimiter.tryAcquire(config, "client", now).isAllowed()) {
+                allowed.incrementAndGet();
+            }
+        });
+
+        assertThat(allowed).hasValue(20);
+    }
+}
@@ -0,0 +1,155 @@
+package dev.sharanggupta.gatewayserver.config.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private final GatewayFilterChain upstream = exchange -> {
+        upstreamCalls.incrementAndGet();
+        return Mono.delay(Duration.ofMillis(100)).then(exchange.getResponse().writeWith(Mono.just(
+                DefaultDataBufferFactory.sharedInstance.wrap("cards".getBytes(StandardCharsets.UTF_8)))));
+    };
+
+    private final GatewayFilter filter = new ResponseCacheGatewayFilterFactory()
+            .apply(new ResponseCacheGatewayFilterFactory.Config()
+                    .setInvalidatingPaths("/api/update", "/api/delete", "/api/repay-batch")
+                    .setUncachedPaths("/api/customer/fetch"));
+
+    @Test
+    void coalescesConcurrentMissesIntoOneUpstreamCall() {
+        List<MockServerWebExchange> exchanges = Flux.range(0, 20)
+                .map(i -> MockServerWebExchange.from(MockServerHttpRequest.get("/api/fetch?mobileNumber=9234567890")))
+                .collectList()
+                .block();
+
+        Flux.fromIterable(exchanges).flatMap(exchange -> filter.filter(exchange, upstream)).blockLast();
+
+        assertThat(upstreamCalls).hasValue(1);
+        exchanges.forEach(exchange -> assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("cards"));
+    }
+
+    @Test
+    void keysOnQueryAndClearsOnWrites() {
+        get("/api/fetch?mobileNumber=9234567890");
+        get("/api/fetch?mobileNumber=9234567890");
+        get("/api/fetch?mobileNumber=9234567891");
+        assertThat(upstreamCalls).hasValue(2);
+
+        write(MockServerHttpRequest.put("/api/update"));
+        get("/api/fetch?mobileNumber=9234567890");
+        assertThat(upstreamCalls).hasValue(3);
+    }
+
+    @Test
+    void dropsOnlyTheEntriesOfTheWrittenMobileNumber() {
+        get("/api/fetch?mobileNumber=9234567890");
+        get("/api/fetch?mobileNumber=9234567891");
+        get("/api/portfolio");
+        assertThat(upstreamCalls).hasValue(3);
+
+        write(MockServerHttpRequest.delete("/api/delete?mobileNumber=9234567890"));
+        get("/api/fetch?mobileNumber=9234567891");
+        assertThat(upstreamCalls).hasValue(3);
+        get("/api/fetch?mobileNumber=9234567890");
+        get("/api/portfolio");
+        assertThat(upstreamCalls).hasValue(5);
+    }
+
+    @Test
+    void dropsOnlyTheEntriesOfTheMobileNumbersInTheBody() {
+        get("/api/fetch?mobileNumber=9234567890");
+        get("/api/fetch?mobileNumber=9234567891");
+        get("/api/fetch?mobileNumber=9234567892");
+        assertThat(upstreamCalls).hasValue(3);
+
+        String payments = "[{\"mobileNumber\":\"9234567890\",\"amount\":10},"
+                + "{\"mobileNumber\":\"9234567891\",\"amount\":20}]";
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/repay-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(payments.length())
+                .body(payments));
+        AtomicReference<String> forwarded = new AtomicReference<>();
+        filter.filter(exchange, e -> e.getRequest().getBody()
+                        .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                        .reduce(String::concat)
+                        .doOnNext(forwarded::set)
+                        .then())
+                .block();
+
+        assertThat(forwarded).hasValue(payments);
+        get("/api/fetch?mobileNumber=9234567892");
+        assertThat(upstreamCalls).hasValue(3);
+        get("/api/fetch?mobileNumber=9234567890");
+        get("/api/fetch?mobileNumber=9234567891");
+        assertThat(upstreamCalls).hasValue(5);
+    }
+
+    @Test
+    void clearsTheRouteWhenTheBodyNamesNoMobileNumber() {
+        get("/api/fetch?mobileNumber=9234567890");
+
+        String loan = "{\"loanNumber\":\"1234567887654321\"}";
+        write(MockServerHttpRequest.put("/api/update").contentType(MediaType.APPLICATION_JSON)
+                .contentLength(loan.length()).body(loan));
+        get("/api/fetch?mobileNumber=9234567890");
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void leavesUncachedPathsToTheUpstream() {
+        get("/api/customer/fetch?mobileNumber=9234567890");
+        get("/api/customer/fetch?mobileNumber=9234567890");
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void keepsTheCacheOnReadOnlyPosts() {
+        get("/api/fetch?mobileNumber=9234567890");
+
+        write(MockServerHttpRequest.post("/api/fetch-batch"));
+        get("/api/fetch?mobileNumber=9234567890");
+
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void bypassesTheCacheWhenTheRequestAsksForNoCache() {
+        get("/api/contact-info");
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/contact-info")
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")), upstream).block();
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    private void get(String uri) {
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get(uri)), upstream).block();
+    }
+
+    private void write(MockServerHttpRequest.BaseBuilder<?> request) {
+        filter.filter(MockServerWebExchange.from(request), exchange -> Mono.empty()).block();
+    }
+
+    private void write(MockServerHttpRequest request) {
+        filter.filter(MockServerWebExchange.from(request), exchange -> Mono.empty()).block();
+    }
+}
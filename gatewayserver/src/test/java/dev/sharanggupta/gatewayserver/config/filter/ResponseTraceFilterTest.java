@@ -0,0 +1,70 @@
+package dev.sharanggupta.gatewayserver.config.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseTraceFilterTest {
+
+    private static final GatewayFilterChain UPSTREAM = exchange -> exchange.getResponse().writeWith(Mono.just(
+            DefaultDataBufferFactory.sharedInstance.wrap("account".getBytes(StandardCharsets.UTF_8))));
+
+    private final FilterUtility filterUtility = new FilterUtility();
+    private final GatewayFilterChain chain = chain(List.of(
+            ordered(new ResponseCacheGatewayFilterFactory().apply(new ResponseCacheGatewayFilterFactory.Config()), 0),
+            ordered(new RequestTraceFilter(filterUtility)),
+            ordered(new ResponseTraceFilter(filterUtility).postGlobalFilter())));
+
+    @Test
+    void cachedResponsesCarryTheCorrelationIdOfTheirRequest() {
+        fetch("first");
+
+        MockServerWebExchange cached = fetch("second");
+
+        assertThat(cached.getResponse().getBodyAsString().block()).isEqualTo("account");
+        assertThat(cached.getResponse().getHeaders().getFirst(FilterUtility.CORRELATION_ID)).isEqualTo("second");
+    }
+
+    private MockServerWebExchange fetch(String correlationId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/fetch?mobileNumber=9234567890")
+                .header(FilterUtility.CORRELATION_ID, correlationId));
+        chain.filter(exchange).block();
+        return exchange;
+    }
+
+    /** Orders global filters the way the gateway does: those that are not {@link Ordered} come last. */
+    private static OrderedGatewayFilter ordered(GlobalFilter filter) {
+        return ordered(filter::filter, filter instanceof Ordered o ? o.getOrder() : Ordered.LOWEST_PRECEDENCE);
+    }
+
+    private static OrderedGatewayFilter ordered(GatewayFilter filter, int order) {
+        return new OrderedGatewayFilter(filter, order);
+    }
+
+    private static GatewayFilterChain chain(List<OrderedGatewayFilter> filters) {
+        List<OrderedGatewayFilter> sorted = new ArrayList<>(filters);
+        AnnotationAwareOrderComparator.sort(sorted);
+        GatewayFilterChain next = UPSTREAM;
+        for (int i = sorted.size() - 1; i >= 0; i--) {
+            OrderedGatewayFilter filter = sorted.get(i);
+            GatewayFilterChain rest = next;
+            next = exchange -> filter.filter(exchange, rest);
+        }
+        return next;
+    }
+}
@@ -0,0 +1,33 @@
+package dev.sharanggupta.gatewayserver.config.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter serverTimingFilter = new ServerTimingFilter();
+
+    @Test
+    void reportsTheUpstreamAndTheTotalTime() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/fetch"));
+        GatewayFilterChain routing = e -> Mono.delay(Duration.ofMillis(20)).then();
+        // Like the write response filter, commits the response as soon as the routing filter is done.
+        GatewayFilterChain writeResponse = e -> serverTimingFilter.upstream().filter(e, routing)
+                .then(Mono.defer(() -> e.getResponse().setComplete()));
+
+        serverTimingFilter.total().filter(exchange, writeResponse).block();
+
+        assertThat(exchange.getResponse().getHeaders().get(ServerTimingFilter.SERVER_TIMING))
+                .hasSize(2)
+                .satisfiesExactly(
+                        upstream -> assertThat(upstream).startsWith("upstream;dur="),
+                        total -> assertThat(total).startsWith("total;dur="));
+    }
+}
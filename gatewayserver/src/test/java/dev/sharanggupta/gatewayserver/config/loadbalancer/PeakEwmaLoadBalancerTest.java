@@ -0,0 +1,123 @@
+package dev.sharanggupta.gatewayserver.config.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class PeakEwmaLoadBalancerTest {
+
+    private final ServiceInstance slow = new DefaultServiceInstance("card-1", "CARD", "10.0.0.1", 9000, false);
+    private final ServiceInstance fast = new DefaultServiceInstance("card-2", "CARD", "10.0.0.2", 9000, false);
+    private final List<ServiceInstance> instances = List.of(slow, fast);
+    private final PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(null, "CARD");
+
+    @Test
+    void prefersTheInstanceWithLowerLatency() {
+        complete(slow, TimeUnit.MILLISECONDS.toNanos(500));
+        complete(fast, TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertThat(IntStream.range(0, 100).mapToObj(i -> loadBalancer.choose(instances).getServer()))
+                .containsOnly(fast);
+    }
+
+    @Test
+    void movesAwayFromAnInstanceWithRequestsPilingUp() {
+        complete(slow, TimeUnit.MILLISECONDS.toNanos(20));
+        complete(fast, TimeUnit.MILLISECONDS.toNanos(10));
+        IntStream.range(0, 5).forEach(i -> loadBalancer.onStartRequest(request(), new DefaultResponse(fast)));
+
+        assertThat(loadBalancer.choose(instances).getServer()).isEqualTo(slow);
+    }
+
+    @Test
+    void aSingleSlowResponseIsEnoughToShiftTraffic() {
+        IntStream.range(0, 20).forEach(i -> complete(slow, TimeUnit.MILLISECONDS.toNanos(10)));
+        complete(fast, TimeUnit.MILLISECONDS.toNanos(20));
+        complete(slow, TimeUnit.MILLISECONDS.toNanos(800));
+
+        assertThat(loadBalancer.choose(instances).getServer()).isEqualTo(fast);
+    }
+
+    @Test
+    void aDiscardedRequestIsNoLongerInFlight() {
+        complete(slow, TimeUnit.MILLISECONDS.toNanos(500));
+        Request<RequestDataContext> request = request();
+        Response<ServiceInstance> response = new DefaultResponse(fast);
+        loadBalancer.onStartRequest(request, response);
+        assertThat(loadBalancer.choose(instances).getServer()).isEqualTo(slow);
+
+        loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.DISCARD, request, response));
+
+        assertThat(loadBalancer.choose(instances).getServer()).isEqualTo(fast);
+    }
+
+    @Test
+    void aRequestCancelledInTheGatewayIsDiscarded() {
+        complete(slow, TimeUnit.MILLISECONDS.toNanos(500));
+        Response<ServiceInstance> response = new DefaultResponse(fast);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/fetch"));
+        exchange.getAttributes().put(GATEWAY_LOADBALANCER_RESPONSE_ATTR, response);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async().id("card_route").uri("lb://CARD")
+                .predicate(e -> true).build());
+        loadBalancer.onStartRequest(request(), response);
+
+        new LoadBalancerCancellationFilter(lifecycleOf(loadBalancer))
+                .filter(exchange, e -> Mono.never())
+                .subscribe()
+                .dispose();
+
+        assertThat(loadBalancer.choose(instances).getServer()).isEqualTo(fast);
+    }
+
+    private void complete(ServiceInstance instance, long latencyNanos) {
+        Request<RequestDataContext> request = request();
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+        loadBalancer.onStartRequest(request, response);
+        request.getContext().setRequestStartTime(System.nanoTime() - latencyNanos);
+        loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response));
+    }
+
+    private static Request<RequestDataContext> request() {
+        return new DefaultRequest<>(new RequestDataContext());
+    }
+
+    private static ReactiveLoadBalancer.Factory<ServiceInstance> lifecycleOf(PeakEwmaLoadBalancer loadBalancer) {
+        return new ReactiveLoadBalancer.Factory<>() {
+            @Override
+            public ReactiveLoadBalancer<ServiceInstance> getInstance(String serviceId) {
+                return loadBalancer;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <X> Map<String, X> getInstances(String name, Class<X> type) {
+                return Map.of("peakEwmaLoadBalancer", (X) loadBalancer);
+            }
+
+            @Override
+            public <X> X getInstance(String name, Class<?> clazz, Class<?>... generics) {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package dev.sharanggupta.gatewayserver.service;
+
+import dev.sharanggupta.gatewayserver.config.CustomerViewProperties;
+import dev.sharanggupta.gatewayserver.dto.CustomerViewDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerViewServiceImplTest {
+
+    private final CustomerViewProperties properties = new CustomerViewProperties();
+
+    @Test
+    void returnsPartialResultsWhenALegTimesOut() {
+        properties.setLoanTimeout(Duration.ofMillis(100));
+        CustomerViewService service = service(Map.of(
+                "ACCOUNT", ok("{\"mobileNumber\":\"9234567890\"}"),
+                "CARD", ok("{\"cardNumber\":\"100646930341\"}"),
+                "LOAN", ok("{}").delayElement(Duration.ofSeconds(5))));
+
+        CustomerViewDto view = service.fetchCustomerView("9234567890", "id").block(Duration.ofSeconds(2));
+
+        assertThat(view.customer().get("mobileNumber").asText()).isEqualTo("9234567890");
+        assertThat(view.card().get("cardNumber").asText()).isEqualTo("100646930341");
+        assertThat(view.loan()).isNull();
+        assertThat(view.unavailable()).containsExactly("loan");
+    }
+
+    @Test
+    void treatsAMissingCardAsAnAnswer() {
+        CustomerViewService service = service(Map.of(
+                "ACCOUNT", ok("{}"),
+                "CARD", Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()),
+                "LOAN", Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build())));
+
+        CustomerViewDto view = service.fetchCustomerView("9234567890", "id").block();
+
+        assertThat(view.card().isNull()).isTrue();
+        assertThat(view.unavailable()).containsExactly("loan");
+    }
+
+    @Test
+    void reportsAnUnknownCustomerAsNotFound() {
+        CustomerViewService service = service(Map.of(
+                "ACCOUNT", Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()),
+                "CARD", ok("{}"),
+                "LOAN", ok("{}")));
+
+        assertThatThrownBy(() -> service.fetchCustomerView("9234567890", "id").block())
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("404");
+    }
+
+    private CustomerViewService service(Map<String, Mono<ClientResponse>> backends) {
+        WebClient.Builder builder = WebClient.builder()
+                .exchangeFunction(request -> backends.get(request.url().getHost()));
+        return new CustomerViewServiceImpl(builder, properties);
+    }
+
+    private static Mono<ClientResponse> ok(String body) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+}
@@ -0,0 +1,30 @@
+// k6 throughput benchmark for GET /api/fetch on the card service.
+//
+// Run the servlet `card` image and then the `card-reactive` image against the same seeded
+// cardsdb, each limited to one core (e.g. `docker update --cpus=1 card-ms`), and compare
+// http_reqs/s and the latency percentiles in the k6 summary. Throughput per core is
+// http_reqs/s divided by the --cpus limit.
+//
+//   k6 run -e BASE_URL=http://localhost:9000 -e MOBILE_NUMBER=9234567890 load-test/card-fetch.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:9000';
+const MOBILE_NUMBER = __ENV.MOBILE_NUMBER || '9234567890';
+
+export const options = {
+  scenarios: {
+    constant: {
+      executor: 'constant-vus',
+      vus: Number(__ENV.VUS || 200),
+      duration: __ENV.DURATION || '2m',
+    },
+  },
+};
+
+const params = { headers: { 'eazybank-correlation-id': 'card-fetch-benchmark' } };
+
+export default function () {
+  const res = http.get(`${BASE_URL}/api/fetch?mobileNumber=${MOBILE_NUMBER}`, params);
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}
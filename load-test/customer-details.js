@@ -0,0 +1,44 @@
+// k6 load test for the account -> card/loan fan-out.
+//
+// Run it once with SPRING_THREADS_VIRTUAL_ENABLED=false and once with "true" on the
+// account, card and loan containers, then compare the k6 summary (throughput, p95/p99,
+// failed requests) and `docker stats` memory for the three services.
+//
+//   k6 run -e BASE_URL=http://localhost:8072 -e MOBILE_NUMBER=9234567890 load-test/customer-details.js
+//
+// Pass -e ACCEPT_ENCODING=gzip to ask the gateway for compressed responses and compare
+// data_received with a run without it.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8072';
+const MOBILE_NUMBER = __ENV.MOBILE_NUMBER || '9234567890';
+const ACCEPT_ENCODING = __ENV.ACCEPT_ENCODING || 'identity';
+
+export const options = {
+  scenarios: {
+    ramp: {
+      executor: 'ramping-vus',
+      startVUs: 50,
+      stages: [
+        { duration: '30s', target: 200 },
+        { duration: '30s', target: 500 },
+        { duration: '30s', target: 1000 },
+        { duration: '30s', target: 2000 },
+        { duration: '30s', target: 0 },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    http_req_duration: ['p(99)<2000'],
+  },
+};
+
+export default function () {
+  const res = http.get(
+    `${BASE_URL}/eazybank/account/api/customer/fetch?mobileNumber=${MOBILE_NUMBER}`,
+    { headers: { 'Accept-Encoding': ACCEPT_ENCODING } },
+  );
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}
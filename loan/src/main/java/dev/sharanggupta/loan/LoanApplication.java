@@ -1,12 +1,13 @@
 package dev.sharanggupta.loan;
 
+import dev.sharanggupta.loan.config.LoanPaymentProperties;
 import dev.sharanggupta.loan.dto.LoanContactInfoDto;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
-@EnableConfigurationProperties(LoanContactInfoDto.class)
+@EnableConfigurationProperties({LoanContactInfoDto.class, LoanPaymentProperties.class})
 public class LoanApplication {
 
   public static void main(String[] args) {
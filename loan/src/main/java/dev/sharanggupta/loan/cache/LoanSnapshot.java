@@ -0,0 +1,46 @@
+package dev.sharanggupta.loan.cache;
+
+import dev.sharanggupta.loan.dto.LoanDto;
+import dev.sharanggupta.loan.entity.Loan;
+import dev.sharanggupta.loan.mapper.LoanMapper;
+
+/**
+ * A loan as stored in its row: the amount paid covers the payments up to {@code lastPaymentId}.
+ * Payments are never changed once written, so folding more of them into a newer snapshot leaves an
+ * older one correct, with more payments to add on top. Updating or deleting the loan does not: its
+ * snapshot has to be evicted.
+ */
+public record LoanSnapshot(
+    Long loanId,
+    String mobileNumber,
+    String loanNumber,
+    String loanType,
+    long totalAmount,
+    long amountPaid,
+    long lastPaymentId) {
+
+  public static LoanSnapshot of(Loan loan) {
+    return new LoanSnapshot(
+        loan.getLoanId(),
+        loan.getMobileNumber(),
+        loan.getLoanNumber(),
+        loan.getLoanType(),
+        loan.getTotalAmount(),
+        loan.getAmountPaid(),
+        loan.getLastPaymentId());
+  }
+
+  /**
+   * Maps the snapshot to a {@link LoanDto} with the payments made since, in minor units, added to
+   * it.
+   */
+  public LoanDto toLoanDto(long paidSinceSnapshot) {
+    Loan loan = new Loan();
+    loan.setMobileNumber(mobileNumber);
+    loan.setLoanNumber(loanNumber);
+    loan.setLoanType(loanType);
+    loan.setTotalAmount(totalAmount);
+    loan.setAmountPaid(amountPaid + paidSinceSnapshot);
+    return LoanMapper.mapToLoanDto(loan, new LoanDto());
+  }
+}
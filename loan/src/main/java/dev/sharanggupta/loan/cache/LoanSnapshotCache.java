@@ -0,0 +1,85 @@
+package dev.sharanggupta.loan.cache;
+
+import dev.sharanggupta.loan.repository.LoanRepository;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache of loan snapshots keyed by mobile number. Taking a new snapshot does not
+ * invalidate the cached one, see {@link LoanSnapshot}; anything that rewrites or deletes a loan
+ * must call {@link #evict(String)}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoanSnapshotCache {
+  public static final String CACHE_NAME = "loanSnapshots";
+
+  private final LoanRepository loanRepository;
+  private final CacheManager cacheManager;
+  private final ApplicationEventPublisher applicationEventPublisher;
+  private final BusProperties busProperties;
+  private final Destination.Factory destinationFactory;
+
+  @Value("${spring.application.name}")
+  private String applicationName;
+
+  @Cacheable(cacheNames = CACHE_NAME, key = "#mobileNumber", unless = "#result == null")
+  public Optional<LoanSnapshot> find(String mobileNumber) {
+    return loanRepository.findByMobileNumber(mobileNumber).map(LoanSnapshot::of);
+  }
+
+  /**
+   * Evicts the entry locally and on every other replica of this service. Inside a transaction the
+   * eviction waits for the commit: evicted earlier, a concurrent read could cache the row as it was
+   * before the transaction again.
+   */
+  public void evict(String mobileNumber) {
+    LoanSnapshotEvictedEvent event =
+        new LoanSnapshotEvictedEvent(
+            this,
+            busProperties.getId(),
+            destinationFactory.getDestination(applicationName + ":**"),
+            mobileNumber);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      applicationEventPublisher.publishEvent(event);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            applicationEventPublisher.publishEvent(event);
+          }
+        });
+  }
+
+  /**
+   * Evicts the entry on this replica only, to pick up a newer snapshot after payments were folded.
+   * The other replicas keep an older one, which still adds up to the right amount.
+   */
+  public void evictLocally(String mobileNumber) {
+    Cache cache = cacheManager.getCache(CACHE_NAME);
+    if (cache != null) {
+      cache.evict(mobileNumber);
+    }
+  }
+
+  @EventListener
+  public void onLoanSnapshotEvicted(LoanSnapshotEvictedEvent event) {
+    log.debug("Evicting cached loan snapshot for mobile number {}", event.getMobileNumber());
+    evictLocally(event.getMobileNumber());
+  }
+}
@@ -0,0 +1,21 @@
+package dev.sharanggupta.loan.cache;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/** Broadcast over the bus so every loan replica drops its cached snapshot of a loan. */
+@Getter
+@Setter
+@NoArgsConstructor
+public class LoanSnapshotEvictedEvent extends RemoteApplicationEvent {
+  private String mobileNumber;
+
+  public LoanSnapshotEvictedEvent(
+      Object source, String originService, Destination destination, String mobileNumber) {
+    super(source, originService, destination);
+    this.mobileNumber = mobileNumber;
+  }
+}
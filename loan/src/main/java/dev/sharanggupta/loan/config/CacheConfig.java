@@ -0,0 +1,11 @@
+package dev.sharanggupta.loan.config;
+
+import dev.sharanggupta.loan.cache.LoanSnapshotEvictedEvent;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+@RemoteApplicationEventScan(basePackageClasses = LoanSnapshotEvictedEvent.class)
+public class CacheConfig {}
@@ -0,0 +1,14 @@
+package dev.sharanggupta.loan.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "loan-payment")
+@Getter
+@Setter
+public class LoanPaymentProperties {
+
+  /** Fold the payments of a loan into its amount paid once this many have piled up. */
+  private int snapshotEvery = 50;
+}
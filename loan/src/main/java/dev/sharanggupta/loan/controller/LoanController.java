@@ -3,6 +3,8 @@ package dev.sharanggupta.loan.controller;
 import dev.sharanggupta.loan.dto.ErrorResponseDto;
 import dev.sharanggupta.loan.dto.LoanContactInfoDto;
 import dev.sharanggupta.loan.dto.LoanDto;
+import dev.sharanggupta.loan.dto.LoanPaymentDto;
+import dev.sharanggupta.loan.dto.LoanPortfolioDto;
 import dev.sharanggupta.loan.dto.ResponseDto;
 import dev.sharanggupta.loan.service.LoanService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,7 +14,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -71,6 +76,27 @@ public class LoanController {
     return ResponseEntity.ok().body(loanService.fetchLoan(mobileNumber));
   }
 
+  @Operation(
+      summary = "Fetch Loan Details in Bulk REST API",
+      description = "REST API to fetch loan details for a list of mobile numbers")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+    @ApiResponse(
+        responseCode = "400",
+        description = "HTTP Bad Request",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @PostMapping(value = "/fetch-batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<List<LoanDto>> fetchLoans(
+      @RequestBody @NotEmpty(message = "Mobile numbers can not be empty")
+          @Size(max = 500, message = "At most 500 mobile numbers can be fetched at once")
+          List<@Pattern(regexp = "[0-9]{10}", message = "Mobile number must be 10 digits") String>
+              mobileNumbers,
+      @RequestHeader("eazybank-correlation-id") String correlationId) {
+    log.debug("correlationId: {}", correlationId);
+    return ResponseEntity.ok().body(loanService.fetchLoans(mobileNumbers));
+  }
+
   @Operation(
       summary = "Update Loan Details REST API",
       description = "REST API to update loan details")
@@ -87,6 +113,77 @@ public class LoanController {
                 String.valueOf(HttpStatus.OK.value()), HttpStatus.OK.getReasonPhrase()));
   }
 
+  @Operation(
+      summary = "Repay Loan REST API",
+      description = "REST API to record a repayment of a loan")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+    @ApiResponse(
+        responseCode = "404",
+        description = "HTTP Status Not Found",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @PostMapping(value = "/repay", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<ResponseDto> repayLoan(@Valid @RequestBody LoanPaymentDto loanPaymentDto) {
+    loanService.repayLoans(List.of(loanPaymentDto));
+    return ResponseEntity.ok()
+        .body(
+            new ResponseDto(
+                String.valueOf(HttpStatus.OK.value()), HttpStatus.OK.getReasonPhrase()));
+  }
+
+  @Operation(
+      summary = "Repay Loans in Bulk REST API",
+      description = "REST API to record repayments of several loans at once")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+    @ApiResponse(
+        responseCode = "400",
+        description = "HTTP Bad Request",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))),
+    @ApiResponse(
+        responseCode = "404",
+        description = "HTTP Status Not Found",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @PostMapping(value = "/repay-batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<ResponseDto> repayLoans(
+      @RequestBody @NotEmpty(message = "Payments can not be empty")
+          @Size(max = 500, message = "At most 500 payments can be recorded at once")
+          List<@Valid LoanPaymentDto> loanPaymentDtos) {
+    loanService.repayLoans(loanPaymentDtos);
+    return ResponseEntity.ok()
+        .body(
+            new ResponseDto(
+                String.valueOf(HttpStatus.OK.value()), HttpStatus.OK.getReasonPhrase()));
+  }
+
+  @Operation(
+      summary = "Fetch Loan Payments REST API",
+      description = "REST API to fetch the repayment history of a loan, oldest first")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+    @ApiResponse(
+        responseCode = "404",
+        description = "HTTP Status Not Found",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @GetMapping("/payments")
+  public ResponseEntity<List<LoanPaymentDto>> fetchPayments(
+      @RequestParam @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
+          String mobileNumber) {
+    return ResponseEntity.ok().body(loanService.fetchPayments(mobileNumber));
+  }
+
+  @Operation(
+      summary = "Fetch Loan Portfolio REST API",
+      description = "REST API to fetch the number of loans, total amount and amount paid per loan type")
+  @ApiResponse(responseCode = "200", description = "HTTP Status OK")
+  @GetMapping("/portfolio")
+  public ResponseEntity<List<LoanPortfolioDto>> fetchPortfolio() {
+    return ResponseEntity.ok().body(loanService.fetchPortfolio());
+  }
+
   @Operation(
       summary = "Delete loan REST API",
       description = "REST API to delete loan based on a mobile number")
@@ -1,7 +1,9 @@
 package dev.sharanggupta.loan.dto;
 
+import dev.sharanggupta.loan.money.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -11,10 +13,12 @@ import lombok.Data;
 public class LoanDto {
 
   @Schema(description = "Total Loan amount", example = "123456788761.05")
-  double totalAmount;
+  @NotNull(message = "Total amount can not be null")
+  Money totalAmount;
 
   @Schema(description = "Amount paid back", example = "123456788761.05")
-  double amountPaid;
+  @NotNull(message = "Amount paid can not be null")
+  Money amountPaid;
 
   @Schema(description = "Mobile Number of the customer", example = "9234567890")
   @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
@@ -0,0 +1,26 @@
+package dev.sharanggupta.loan.dto;
+
+import dev.sharanggupta.loan.money.Money;
+import dev.sharanggupta.loan.money.PositiveAmount;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import lombok.Data;
+
+@Data
+@Schema(name = "LoanPayment", description = "Schema to hold a repayment of a loan")
+public class LoanPaymentDto {
+
+  @Schema(description = "Mobile Number of the customer", example = "9234567890")
+  @Pattern(regexp = "[0-9]{10}", message = "Mobile number must be 10 digits")
+  private String mobileNumber;
+
+  @Schema(description = "Amount repaid", example = "15000.00")
+  @NotNull(message = "Amount can not be null")
+  @PositiveAmount
+  private Money amount;
+
+  @Schema(description = "When the payment was made", accessMode = Schema.AccessMode.READ_ONLY)
+  private LocalDateTime paidAt;
+}
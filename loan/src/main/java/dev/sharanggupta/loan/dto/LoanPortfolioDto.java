@@ -0,0 +1,24 @@
+package dev.sharanggupta.loan.dto;
+
+import dev.sharanggupta.loan.money.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(name = "LoanPortfolio", description = "Schema to hold the totals of all loans of a type")
+public class LoanPortfolioDto {
+
+  @Schema(description = "Type of the loans", example = "Personal")
+  private String loanType;
+
+  @Schema(description = "Number of loans", example = "1250")
+  private long loans;
+
+  @Schema(description = "Sum of the loan amounts", example = "125000000.00")
+  private Money totalAmount;
+
+  @Schema(description = "Sum of the amounts paid back", example = "5230411.75")
+  private Money amountPaid;
+}
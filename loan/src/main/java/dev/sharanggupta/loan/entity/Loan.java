@@ -15,8 +15,16 @@ public class Loan extends BaseEntity {
   String mobileNumber;
   String loanNumber;
   String loanType;
-  double totalAmount;
-  double amountPaid;
+
+  /** In minor units, see {@link dev.sharanggupta.loan.money.Money}. */
+  long totalAmount;
+
+  /** In minor units, see {@link dev.sharanggupta.loan.money.Money}. */
+  long amountPaid;
+
+  /** Last payment already included in {@link #amountPaid}; later ones are added on read. */
+  long lastPaymentId;
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long loanId;
@@ -0,0 +1,27 @@
+package dev.sharanggupta.loan.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** A repayment against a loan. Payments are only ever inserted, never updated. */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoanPayment {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long paymentId;
+
+  private Long loanId;
+
+  /** In minor units, see {@link dev.sharanggupta.loan.money.Money}. */
+  private long amount;
+
+  private LocalDateTime paidAt;
+}
@@ -1,15 +1,18 @@
 package dev.sharanggupta.loan.mapper;
 
 import dev.sharanggupta.loan.dto.LoanDto;
+import dev.sharanggupta.loan.dto.LoanPaymentDto;
 import dev.sharanggupta.loan.entity.Loan;
+import dev.sharanggupta.loan.entity.LoanPayment;
+import dev.sharanggupta.loan.money.Money;
 
 public class LoanMapper {
   public static LoanDto mapToLoanDto(Loan loan, LoanDto loanDto) {
     loanDto.setLoanNumber(loan.getLoanNumber());
     loanDto.setLoanType(loan.getLoanType());
     loanDto.setMobileNumber(loan.getMobileNumber());
-    loanDto.setTotalAmount(loan.getTotalAmount());
-    loanDto.setAmountPaid(loan.getAmountPaid());
+    loanDto.setTotalAmount(new Money(loan.getTotalAmount()));
+    loanDto.setAmountPaid(new Money(loan.getAmountPaid()));
     return loanDto;
   }
 
@@ -17,8 +20,16 @@ public class LoanMapper {
     loan.setLoanNumber(loanDto.getLoanNumber());
     loan.setLoanType(loanDto.getLoanType());
     loan.setMobileNumber(loanDto.getMobileNumber());
-    loan.setTotalAmount(loanDto.getTotalAmount());
-    loan.setAmountPaid(loanDto.getAmountPaid());
+    loan.setTotalAmount(loanDto.getTotalAmount().minorUnits());
+    loan.setAmountPaid(loanDto.getAmountPaid().minorUnits());
     return loan;
   }
+
+  public static LoanPaymentDto mapToLoanPaymentDto(
+      LoanPayment loanPayment, String mobileNumber, LoanPaymentDto loanPaymentDto) {
+    loanPaymentDto.setMobileNumber(mobileNumber);
+    loanPaymentDto.setAmount(new Money(loanPayment.getAmount()));
+    loanPaymentDto.setPaidAt(loanPayment.getPaidAt());
+    return loanPaymentDto;
+  }
 }
@@ -0,0 +1,59 @@
+package dev.sharanggupta.loan.money;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of money held as a whole number of minor units (paise), so sums and comparisons are
+ * exact and the database can check balances with plain integer arithmetic. In JSON it is a
+ * decimal number with at most two fraction digits, e.g. {@code 1250.50}.
+ */
+@Schema(type = "number", example = "1250.50")
+public record Money(long minorUnits) implements Comparable<Money> {
+  public static final Money ZERO = new Money(0);
+
+  private static final int SCALE = 2;
+
+  /**
+   * @throws ArithmeticException if the amount has more than two fraction digits or does not fit
+   */
+  @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+  public static Money of(BigDecimal amount) {
+    return new Money(
+        amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+  }
+
+  public static Money of(String amount) {
+    return of(new BigDecimal(amount));
+  }
+
+  public Money plus(Money other) {
+    return new Money(Math.addExact(minorUnits, other.minorUnits));
+  }
+
+  public Money minus(Money other) {
+    return new Money(Math.subtractExact(minorUnits, other.minorUnits));
+  }
+
+  public boolean isPositive() {
+    return minorUnits > 0;
+  }
+
+  @JsonValue
+  public BigDecimal toBigDecimal() {
+    return BigDecimal.valueOf(minorUnits, SCALE);
+  }
+
+  @Override
+  public int compareTo(Money other) {
+    return Long.compare(minorUnits, other.minorUnits);
+  }
+
+  @Override
+  public String toString() {
+    return toBigDecimal().toPlainString();
+  }
+}
@@ -0,0 +1,13 @@
+package dev.sharanggupta.loan.repository;
+
+import dev.sharanggupta.loan.entity.LoanPayment;
+import java.util.List;
+
+public interface LoanPaymentBatchRepository {
+
+  /**
+   * Inserts the payments with a single JDBC batch. Hibernate does not batch inserts of entities
+   * with identity ids, so {@code saveAll} would send one statement per payment.
+   */
+  void appendAll(List<LoanPayment> payments);
+}
@@ -0,0 +1,27 @@
+package dev.sharanggupta.loan.repository;
+
+import dev.sharanggupta.loan.entity.LoanPayment;
+import java.sql.Timestamp;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class LoanPaymentBatchRepositoryImpl implements LoanPaymentBatchRepository {
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  @Transactional
+  public void appendAll(List<LoanPayment> payments) {
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO loan_payment (loan_id, amount, paid_at) VALUES (?, ?, ?)",
+        payments,
+        payments.size(),
+        (statement, payment) -> {
+          statement.setLong(1, payment.getLoanId());
+          statement.setLong(2, payment.getAmount());
+          statement.setTimestamp(3, Timestamp.valueOf(payment.getPaidAt()));
+        });
+  }
+}
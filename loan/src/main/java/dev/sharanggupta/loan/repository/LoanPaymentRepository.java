@@ -0,0 +1,32 @@
+package dev.sharanggupta.loan.repository;
+
+import dev.sharanggupta.loan.entity.LoanPayment;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LoanPaymentRepository
+    extends JpaRepository<LoanPayment, Long>, LoanPaymentBatchRepository {
+
+  List<LoanPayment> findByLoanIdOrderByPaymentId(Long loanId);
+
+  /** Sums the payments of a loan with an id in {@code (afterPaymentId, upToPaymentId]}. */
+  @Query(
+      """
+      select new dev.sharanggupta.loan.repository.PaymentTail(
+        count(p), coalesce(sum(p.amount), 0), coalesce(max(p.paymentId), :afterPaymentId))
+      from LoanPayment p
+      where p.loanId = :loanId and p.paymentId > :afterPaymentId and p.paymentId <= :upToPaymentId""")
+  PaymentTail findTail(
+      @Param("loanId") Long loanId,
+      @Param("afterPaymentId") long afterPaymentId,
+      @Param("upToPaymentId") long upToPaymentId);
+
+  @Modifying
+  @Query("delete from LoanPayment p where p.loanId = :loanId")
+  void deleteByLoanId(@Param("loanId") Long loanId);
+}
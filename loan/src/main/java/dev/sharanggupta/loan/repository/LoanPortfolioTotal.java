@@ -0,0 +1,4 @@
+package dev.sharanggupta.loan.repository;
+
+/** Number of loans of a type with their summed amounts, in minor units. */
+public record LoanPortfolioTotal(String loanType, Long loans, Long totalAmount, Long amountPaid) {}
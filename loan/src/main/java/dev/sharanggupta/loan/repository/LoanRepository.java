@@ -1,11 +1,110 @@
 package dev.sharanggupta.loan.repository;
 
 import dev.sharanggupta.loan.entity.Loan;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface LoanRepository extends JpaRepository<Loan, Long> {
   Optional<Loan> findByMobileNumber(String mobileNumber);
+
+  /**
+   * Loads and locks the loan of a mobile number until the calling transaction ends, waiting for
+   * every payment of the loan being appended to commit and keeping new ones out meanwhile.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select l from Loan l where l.mobileNumber = :mobileNumber")
+  Optional<Loan> findForUpdateByMobileNumber(@Param("mobileNumber") String mobileNumber);
+
+  /** Like {@link #findForUpdateByMobileNumber}, for taking a snapshot of the loan. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select l from Loan l where l.loanId = :loanId")
+  Optional<Loan> findForUpdateById(@Param("loanId") Long loanId);
+
+  /**
+   * Loads the loans of the mobile numbers with a shared lock, in id order so that batches cannot
+   * deadlock. Payments are only appended under this lock: appends to a loan do not wait for each
+   * other, only for a snapshot or an update that holds the exclusive lock.
+   */
+  @Lock(LockModeType.PESSIMISTIC_READ)
+  @Query("select l from Loan l where l.mobileNumber in :mobileNumbers order by l.loanId")
+  List<Loan> findForShareByMobileNumberIn(
+      @Param("mobileNumbers") Collection<String> mobileNumbers);
+
+  /**
+   * Loads the loans of the mobile numbers together with the payments not yet included in their
+   * amount paid, in one statement so that a snapshot taken meanwhile cannot skew the sum.
+   */
+  @Query(
+      """
+      select new dev.sharanggupta.loan.repository.LoanWithPendingPayments(
+        l, coalesce(sum(p.amount), 0))
+      from Loan l left join LoanPayment p on p.loanId = l.loanId and p.paymentId > l.lastPaymentId
+      where l.mobileNumber in :mobileNumbers
+      group by l""")
+  List<LoanWithPendingPayments> findWithPendingPaymentsByMobileNumberIn(
+      @Param("mobileNumbers") Collection<String> mobileNumbers);
+
+  /**
+   * Updates the loan of a mobile number in place with a single statement, leaving the creation
+   * audit columns untouched. The given amount paid replaces every payment recorded so far, so the
+   * caller must hold the loan's lock from {@link #findForUpdateByMobileNumber}.
+   */
+  @Modifying
+  @Query(
+      """
+      update Loan l set l.loanNumber = :loanNumber, l.loanType = :loanType, l.totalAmount = :totalAmount,
+        l.amountPaid = :amountPaid, l.updatedAt = :updatedAt, l.updatedBy = :updatedBy,
+        l.lastPaymentId = (
+          select coalesce(max(p.paymentId), 0) from LoanPayment p where p.loanId = l.loanId)
+      where l.mobileNumber = :mobileNumber""")
+  void updateByMobileNumber(
+      @Param("mobileNumber") String mobileNumber,
+      @Param("loanNumber") String loanNumber,
+      @Param("loanType") String loanType,
+      @Param("totalAmount") long totalAmount,
+      @Param("amountPaid") long amountPaid,
+      @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("updatedBy") String updatedBy);
+
+  /**
+   * Adds the payments after {@code fromPaymentId} up to {@code toPaymentId} to the amount paid of a
+   * loan, unless another snapshot has moved it past {@code fromPaymentId} already.
+   *
+   * @return {@code 1} when the snapshot was taken, {@code 0} when it lost to another one
+   */
+  @Modifying
+  @Query(
+      """
+      update Loan l set l.amountPaid = l.amountPaid + :amount, l.lastPaymentId = :toPaymentId
+      where l.loanId = :loanId and l.lastPaymentId = :fromPaymentId""")
+  int snapshotPayments(
+      @Param("loanId") Long loanId,
+      @Param("fromPaymentId") long fromPaymentId,
+      @Param("toPaymentId") long toPaymentId,
+      @Param("amount") long amount);
+
+  /**
+   * Counts the loans of every type and sums their amounts, adding the payments not yet included in
+   * the amount paid, in one statement so that a snapshot taken meanwhile cannot skew the sum.
+   */
+  @Query(
+      """
+      select new dev.sharanggupta.loan.repository.LoanPortfolioTotal(
+        l.loanType, count(l), sum(l.totalAmount),
+        sum(l.amountPaid + (select coalesce(sum(p.amount), 0) from LoanPayment p
+          where p.loanId = l.loanId and p.paymentId > l.lastPaymentId)))
+      from Loan l
+      group by l.loanType
+      order by l.loanType""")
+  List<LoanPortfolioTotal> findPortfolioTotals();
 }
@@ -0,0 +1,6 @@
+package dev.sharanggupta.loan.repository;
+
+import dev.sharanggupta.loan.entity.Loan;
+
+/** A loan with the total, in minor units, of the payments made after its last snapshot. */
+public record LoanWithPendingPayments(Loan loan, Long pendingPayments) {}
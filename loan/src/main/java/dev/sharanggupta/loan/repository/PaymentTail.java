@@ -0,0 +1,6 @@
+package dev.sharanggupta.loan.repository;
+
+/**
+ * Count, total in minor units and last id of the payments of a loan after a given payment.
+ */
+public record PaymentTail(Long count, Long amount, Long lastPaymentId) {}
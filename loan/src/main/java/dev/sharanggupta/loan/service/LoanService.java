@@ -1,6 +1,9 @@
 package dev.sharanggupta.loan.service;
 
 import dev.sharanggupta.loan.dto.LoanDto;
+import dev.sharanggupta.loan.dto.LoanPaymentDto;
+import dev.sharanggupta.loan.dto.LoanPortfolioDto;
+import java.util.List;
 
 public interface LoanService {
 
@@ -8,7 +11,16 @@ public interface LoanService {
 
   LoanDto fetchLoan(String mobileNumber);
 
+  List<LoanDto> fetchLoans(List<String> mobileNumbers);
+
   void updateLoan(LoanDto loanDto);
 
+  /** Records repayments, possibly of several loans, appending them all in a single batch. */
+  void repayLoans(List<LoanPaymentDto> loanPaymentDtos);
+
+  List<LoanPaymentDto> fetchPayments(String mobileNumber);
+
+  List<LoanPortfolioDto> fetchPortfolio();
+
   void deleteLoan(String mobileNumber);
 }
@@ -1,64 +1,218 @@
 package dev.sharanggupta.loan.service;
 
+import dev.sharanggupta.loan.cache.LoanSnapshot;
+import dev.sharanggupta.loan.cache.LoanSnapshotCache;
+import dev.sharanggupta.loan.config.LoanPaymentProperties;
 import dev.sharanggupta.loan.dto.LoanDto;
+import dev.sharanggupta.loan.dto.LoanPaymentDto;
+import dev.sharanggupta.loan.dto.LoanPortfolioDto;
 import dev.sharanggupta.loan.entity.Loan;
+import dev.sharanggupta.loan.entity.LoanPayment;
 import dev.sharanggupta.loan.exception.InternalServerException;
 import dev.sharanggupta.loan.exception.LoanAlreadyExistsException;
 import dev.sharanggupta.loan.exception.ResourceNotFoundException;
 import dev.sharanggupta.loan.mapper.LoanMapper;
+import dev.sharanggupta.loan.money.Money;
+import dev.sharanggupta.loan.repository.LoanPaymentRepository;
 import dev.sharanggupta.loan.repository.LoanRepository;
-import java.util.Optional;
+import dev.sharanggupta.loan.repository.PaymentTail;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @RequiredArgsConstructor
 @Service
 public class LoanServiceImpl implements LoanService {
+  private static final String MOBILE_NUMBER_CONSTRAINT = "uk_loan_mobile_number";
+
   private final LoanRepository loanRepository;
+  private final LoanPaymentRepository loanPaymentRepository;
+  private final LoanSnapshotCache loanSnapshotCache;
+  private final LoanPaymentProperties loanPaymentProperties;
+  private final AuditorAware<String> auditorAware;
+  private final TransactionTemplate transactionTemplate;
 
   @Override
   public void createLoan(String mobileNumber) {
-    Optional<Loan> existingLoan = loanRepository.findByMobileNumber(mobileNumber);
-    if (existingLoan.isPresent()) {
-      throw new LoanAlreadyExistsException(
-          "Loan already registered with given mobileNumber " + mobileNumber);
+    try {
+      loanRepository.save(createNewLoan(mobileNumber));
+    } catch (DataIntegrityViolationException exception) {
+      if (isMobileNumberConflict(exception)) {
+        throw new LoanAlreadyExistsException(
+            "Loan already registered with given mobileNumber " + mobileNumber);
+      }
+      throw exception;
     }
-    loanRepository.save(createNewLoan(mobileNumber));
   }
 
   @Override
   public LoanDto fetchLoan(String mobileNumber) {
-    Loan loan =
-        loanRepository
-            .findByMobileNumber(mobileNumber)
-            .orElseThrow(() -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber));
-    return LoanMapper.mapToLoanDto(loan, new LoanDto());
+    LoanSnapshot snapshot = findSnapshot(mobileNumber);
+    PaymentTail tail =
+        loanPaymentRepository.findTail(snapshot.loanId(), snapshot.lastPaymentId(), Long.MAX_VALUE);
+    if (tail.count() >= loanPaymentProperties.getSnapshotEvery()) {
+      // Another replica has most likely taken a newer snapshot than the cached one.
+      loanSnapshotCache.evictLocally(mobileNumber);
+    }
+    return snapshot.toLoanDto(tail.amount());
+  }
+
+  @Override
+  public List<LoanDto> fetchLoans(List<String> mobileNumbers) {
+    return loanRepository.findWithPendingPaymentsByMobileNumberIn(mobileNumbers).stream()
+        .map(loan -> LoanSnapshot.of(loan.loan()).toLoanDto(loan.pendingPayments()))
+        .toList();
+  }
+
+  @Override
+  public void repayLoans(List<LoanPaymentDto> loanPaymentDtos) {
+    Collection<Loan> loans =
+        transactionTemplate.execute(
+            status -> {
+              // The shared lock keeps snapshots out until the payments are committed, but lets
+              // other payments of the same loans be appended meanwhile.
+              Map<String, Loan> locked = new HashMap<>();
+              loanRepository
+                  .findForShareByMobileNumberIn(
+                      loanPaymentDtos.stream().map(LoanPaymentDto::getMobileNumber).distinct().toList())
+                  .forEach(loan -> locked.put(loan.getMobileNumber(), loan));
+              LocalDateTime paidAt = LocalDateTime.now();
+              loanPaymentRepository.appendAll(
+                  loanPaymentDtos.stream()
+                      .map(
+                          loanPaymentDto ->
+                              new LoanPayment(
+                                  null,
+                                  findLocked(locked, loanPaymentDto.getMobileNumber()).getLoanId(),
+                                  loanPaymentDto.getAmount().minorUnits(),
+                                  paidAt))
+                      .toList());
+              return locked.values();
+            });
+    loans.forEach(this::snapshotIfDue);
+  }
+
+  @Override
+  public List<LoanPaymentDto> fetchPayments(String mobileNumber) {
+    LoanSnapshot snapshot = findSnapshot(mobileNumber);
+    return loanPaymentRepository.findByLoanIdOrderByPaymentId(snapshot.loanId()).stream()
+        .map(payment -> LoanMapper.mapToLoanPaymentDto(payment, mobileNumber, new LoanPaymentDto()))
+        .toList();
   }
 
   @Override
+  public List<LoanPortfolioDto> fetchPortfolio() {
+    return loanRepository.findPortfolioTotals().stream()
+        .map(
+            total ->
+                new LoanPortfolioDto(
+                    total.loanType(),
+                    total.loans(),
+                    new Money(total.totalAmount()),
+                    new Money(total.amountPaid())))
+        .toList();
+  }
+
+  @Override
+  @Transactional
   public void updateLoan(LoanDto loanDto) {
     String mobileNumber = loanDto.getMobileNumber();
-    Loan currentLoan =
-        loanRepository
-            .findByMobileNumber(mobileNumber)
-            .orElseThrow(() -> new ResourceNotFoundException("Loan", "MobileNumber", mobileNumber));
-    Loan updatedLoan = LoanMapper.mapToLoan(loanDto, new Loan());
-    updatedLoan.setLoanId(currentLoan.getLoanId());
-    loanRepository.save(updatedLoan);
+    loanRepository
+        .findForUpdateByMobileNumber(mobileNumber)
+        .orElseThrow(() -> new ResourceNotFoundException("Loan", "MobileNumber", mobileNumber));
+    loanRepository.updateByMobileNumber(
+        mobileNumber,
+        loanDto.getLoanNumber(),
+        loanDto.getLoanType(),
+        loanDto.getTotalAmount().minorUnits(),
+        loanDto.getAmountPaid().minorUnits(),
+        LocalDateTime.now(),
+        auditorAware.getCurrentAuditor().orElse(null));
+    loanSnapshotCache.evict(mobileNumber);
   }
 
   @Override
+  @Transactional
   public void deleteLoan(String mobileNumber) {
     Loan loan =
         loanRepository
             .findByMobileNumber(mobileNumber)
             .orElseThrow(() -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber));
     try {
+      loanPaymentRepository.deleteByLoanId(loan.getLoanId());
       loanRepository.deleteById(loan.getLoanId());
     } catch (DataAccessException exception) {
       throw new InternalServerException(exception.getCause(), exception.getMessage());
     }
+    loanSnapshotCache.evict(mobileNumber);
+  }
+
+  private LoanSnapshot findSnapshot(String mobileNumber) {
+    return loanSnapshotCache
+        .find(mobileNumber)
+        .orElseThrow(() -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber));
+  }
+
+  private static Loan findLocked(Map<String, Loan> loans, String mobileNumber) {
+    Loan loan = loans.get(mobileNumber);
+    if (loan == null) {
+      throw new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber);
+    }
+    return loan;
+  }
+
+  /**
+   * Folds the payments of a loan into its amount paid once enough have piled up, so reads never add
+   * up more than about {@code snapshotEvery} payments. It runs after the payments are committed, in
+   * a transaction of its own that holds the loan's exclusive lock, so every payment appended before
+   * is committed and none can be appended until the snapshot is.
+   */
+  private void snapshotIfDue(Loan loan) {
+    PaymentTail tail =
+        loanPaymentRepository.findTail(loan.getLoanId(), loan.getLastPaymentId(), Long.MAX_VALUE);
+    if (tail.count() < loanPaymentProperties.getSnapshotEvery()) {
+      return;
+    }
+    transactionTemplate.executeWithoutResult(
+        status ->
+            loanRepository
+                .findForUpdateById(loan.getLoanId())
+                .ifPresent(
+                    locked -> {
+                      PaymentTail pending =
+                          loanPaymentRepository.findTail(
+                              locked.getLoanId(), locked.getLastPaymentId(), Long.MAX_VALUE);
+                      // Another repayment may have taken the snapshot while this one waited.
+                      if (pending.count() >= loanPaymentProperties.getSnapshotEvery()) {
+                        loanRepository.snapshotPayments(
+                            locked.getLoanId(),
+                            locked.getLastPaymentId(),
+                            pending.lastPaymentId(),
+                            pending.amount());
+                      }
+                    }));
+    // The cached snapshot is behind now; until it is reloaded, reads just add up more payments.
+    loanSnapshotCache.evictLocally(loan.getMobileNumber());
+  }
+
+  private boolean isMobileNumberConflict(DataIntegrityViolationException exception) {
+    return exception.getCause() instanceof ConstraintViolationException constraintViolation
+        && constraintViolation.getConstraintName() != null
+        && constraintViolation
+            .getConstraintName()
+            .toLowerCase(Locale.ROOT)
+            .contains(MOBILE_NUMBER_CONSTRAINT);
   }
 
   private Loan createNewLoan(String mobileNumber) {
@@ -67,7 +221,7 @@ public class LoanServiceImpl implements LoanService {
     newLoan.setLoanNumber(Long.toString(randomLoanNumber));
     newLoan.setMobileNumber(mobileNumber);
     newLoan.setLoanType("Personal");
-    newLoan.setTotalAmount(1_00_000);
+    newLoan.setTotalAmount(1_00_000_00L);
     newLoan.setAmountPaid(0);
     return newLoan;
   }
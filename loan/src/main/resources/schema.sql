@@ -3,11 +3,24 @@ create TABLE IF NOT EXISTS `loan` (
   `mobile_number` varchar(10) NOT NULL,
   `loan_number` varchar(16) NOT NULL,
   `loan_type` varchar(20) NOT NULL,
-  `total_amount` DOUBLE NOT NULL,
-  `amount_paid` DOUBLE NOT NULL,
+  `total_amount` BIGINT NOT NULL,
+  `amount_paid` BIGINT NOT NULL,
+  `last_payment_id` bigint NOT NULL DEFAULT 0,
   `created_at` date NOT NULL,
   `created_by` varchar(20) NOT NULL,
   `updated_at` date DEFAULT NULL,
   `updated_by` varchar(20) DEFAULT NULL,
-  PRIMARY KEY (`loan_id`)
+  PRIMARY KEY (`loan_id`),
+  CONSTRAINT `uk_loan_mobile_number` UNIQUE (`mobile_number`)
+);
+
+create TABLE IF NOT EXISTS `loan_payment` (
+  `payment_id` bigint AUTO_INCREMENT,
+  `loan_id` int NOT NULL,
+  `amount` BIGINT NOT NULL,
+  `paid_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`payment_id`),
+  -- Trivially unique through payment_id; declared as a constraint so that H2 accepts it inline.
+  -- It is the index behind the per-loan payment lookups.
+  CONSTRAINT `uk_loan_payment_loan_id` UNIQUE (`loan_id`, `payment_id`)
 );
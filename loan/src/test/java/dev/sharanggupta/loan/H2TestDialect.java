@@ -0,0 +1,34 @@
+package dev.sharanggupta.loan;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.H2SqlAstTranslator;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.SqlAstTranslatorFactory;
+import org.hibernate.sql.ast.spi.StandardSqlAstTranslatorFactory;
+import org.hibernate.sql.ast.tree.Statement;
+import org.hibernate.sql.exec.spi.JdbcOperation;
+
+/**
+ * H2 has no shared row locks and turns {@code FOR SHARE} into {@code FOR UPDATE}. Taking no lock
+ * instead lets tests see what MySQL gives transactions that share a lock: they do not wait for each
+ * other.
+ */
+public class H2TestDialect extends H2Dialect {
+
+  @Override
+  public SqlAstTranslatorFactory getSqlAstTranslatorFactory() {
+    return new StandardSqlAstTranslatorFactory() {
+      @Override
+      protected <T extends JdbcOperation> SqlAstTranslator<T> buildTranslator(
+          SessionFactoryImplementor sessionFactory, Statement statement) {
+        return new H2SqlAstTranslator<>(sessionFactory, statement) {
+          @Override
+          protected String getForShare(int timeoutMillis) {
+            return "";
+          }
+        };
+      }
+    };
+  }
+}
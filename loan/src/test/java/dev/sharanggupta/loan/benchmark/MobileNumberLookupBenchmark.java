@@ -0,0 +1,99 @@
+package dev.sharanggupta.loan.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+/**
+ * Looks up a loan by mobile number, as {@code findByMobileNumber} does, in an in-memory H2 database
+ * in MySQL mode holding {@code rows} loans. The table is created from {@code schema.sql}, with and
+ * without its unique constraint on {@code mobile_number}, to compare a full scan with an index
+ * lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class MobileNumberLookupBenchmark {
+  private static final long FIRST_MOBILE_NUMBER = 9_000_000_000L;
+
+  @Param({"1000000"})
+  public int rows;
+
+  @Param({"false", "true"})
+  public boolean indexed;
+
+  private Connection connection;
+  private PreparedStatement findByMobileNumber;
+
+  @Setup
+  public void setUp() throws IOException, SQLException {
+    connection =
+        DriverManager.getConnection("jdbc:h2:mem:lookup-" + indexed + ";MODE=MySQL", "sa", "");
+    String schema = new ClassPathResource("schema.sql").getContentAsString(StandardCharsets.UTF_8);
+    if (!indexed) {
+      schema = schema.replaceAll(",\\s*CONSTRAINT `uk_loan_mobile_number`[^\\n]*", "");
+    }
+    ScriptUtils.executeSqlScript(
+        connection, new ByteArrayResource(schema.getBytes(StandardCharsets.UTF_8)));
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(
+          """
+          INSERT INTO loan (mobile_number, loan_number, loan_type, total_amount, amount_paid,
+            created_at, created_by)
+          SELECT CAST(%d + x AS VARCHAR), CAST(100000000000 + x AS VARCHAR), 'Personal',
+            10000000, 0, CURRENT_DATE, 'benchmark'
+          FROM SYSTEM_RANGE(0, %d)"""
+              .formatted(FIRST_MOBILE_NUMBER, rows - 1));
+    }
+    findByMobileNumber = connection.prepareStatement("SELECT * FROM loan WHERE mobile_number = ?");
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    connection.close();
+  }
+
+  @Benchmark
+  public long findByMobileNumber() throws SQLException {
+    long mobileNumber = FIRST_MOBILE_NUMBER + ThreadLocalRandom.current().nextInt(rows);
+    findByMobileNumber.setString(1, Long.toString(mobileNumber));
+    try (ResultSet resultSet = findByMobileNumber.executeQuery()) {
+      resultSet.next();
+      return resultSet.getLong("loan_id");
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(MobileNumberLookupBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,102 @@
+package dev.sharanggupta.loan.benchmark;
+
+import dev.sharanggupta.loan.money.Money;
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Sums a portfolio of loan amounts held as minor units in a {@code long[]}, as {@link Money} values,
+ * as {@link BigDecimal}s and as the {@code double}s the loans used to be stored as. The {@code long[]}
+ * loop is the one C2 unrolls and vectorises; the difference between the exact total and the
+ * {@code double} one is printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneySumBenchmark {
+
+  @Param({"1000", "100000"})
+  public int loans;
+
+  private long[] minorUnits;
+  private Money[] money;
+  private BigDecimal[] bigDecimals;
+  private double[] doubles;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    minorUnits = new long[loans];
+    money = new Money[loans];
+    bigDecimals = new BigDecimal[loans];
+    doubles = new double[loans];
+    for (int i = 0; i < loans; i++) {
+      // Up to 1,00,00,000.00 with arbitrary paise.
+      minorUnits[i] = random.nextLong(1_00_00_000_00L);
+      money[i] = new Money(minorUnits[i]);
+      bigDecimals[i] = money[i].toBigDecimal();
+      doubles[i] = bigDecimals[i].doubleValue();
+    }
+    System.out.printf(
+        "%n%d loans: exact total %s, double total %s%n",
+        loans, new Money(longs()).toBigDecimal().toPlainString(), BigDecimal.valueOf(doubles()));
+  }
+
+  @Benchmark
+  public long longs() {
+    long total = 0;
+    for (long amount : minorUnits) {
+      total += amount;
+    }
+    return total;
+  }
+
+  @Benchmark
+  public Money money() {
+    Money total = Money.ZERO;
+    for (Money amount : money) {
+      total = total.plus(amount);
+    }
+    return total;
+  }
+
+  @Benchmark
+  public BigDecimal bigDecimals() {
+    BigDecimal total = BigDecimal.ZERO;
+    for (BigDecimal amount : bigDecimals) {
+      total = total.add(amount);
+    }
+    return total;
+  }
+
+  @Benchmark
+  public double doubles() {
+    double total = 0;
+    for (double amount : doubles) {
+      total += amount;
+    }
+    return total;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(MoneySumBenchmark.class.getSimpleName()).build()).run();
+  }
+}
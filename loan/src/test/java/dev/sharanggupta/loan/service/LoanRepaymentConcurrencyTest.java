@@ -0,0 +1,105 @@
+package dev.sharanggupta.loan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.sharanggupta.loan.audit.AuditAwareImpl;
+import dev.sharanggupta.loan.cache.LoanSnapshotCache;
+import dev.sharanggupta.loan.dto.LoanPaymentDto;
+import dev.sharanggupta.loan.money.Money;
+import dev.sharanggupta.loan.repository.LoanPaymentRepository;
+import dev.sharanggupta.loan.repository.LoanRepository;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs on {@link dev.sharanggupta.loan.H2TestDialect}, where the shared lock of a repayment takes
+ * no lock at all, so snapshots are not kept out. It only checks which repayments wait for each
+ * other; {@link LoanServiceImplTest} checks that none is lost.
+ */
+@DataJpaTest(
+    properties = {
+      "spring.cloud.config.enabled=false",
+      "spring.datasource.url=jdbc:h2:mem:loanconcurrencydb;MODE=MySQL",
+      "spring.jpa.hibernate.ddl-auto=none",
+      "spring.jpa.database-platform=dev.sharanggupta.loan.H2TestDialect"
+    })
+@Import({
+  LoanServiceImpl.class,
+  LoanSnapshotCache.class,
+  AuditAwareImpl.class,
+  LoanServiceImplTest.CacheTestConfig.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LoanRepaymentConcurrencyTest {
+
+  private static final String MOBILE_NUMBER = "9234567890";
+
+  @Autowired private LoanRepository loanRepository;
+  @Autowired private LoanPaymentRepository loanPaymentRepository;
+  @Autowired private LoanServiceImpl loanService;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @BeforeEach
+  void setUp() {
+    loanRepository.deleteAll();
+    loanPaymentRepository.deleteAll();
+    loanService.createLoan(MOBILE_NUMBER);
+  }
+
+  @Test
+  void repaymentsOfALoanDoNotWaitForEachOther() throws Exception {
+    CountDownLatch appended = new CountDownLatch(1);
+    CountDownLatch commit = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    Future<?> open =
+        executor.submit(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    status -> {
+                      loanService.repayLoans(List.of(payment("100.00")));
+                      appended.countDown();
+                      awaitQuietly(commit);
+                    }));
+    try {
+      assertThat(appended.await(5, TimeUnit.SECONDS)).isTrue();
+
+      // Commits while the first repayment of the loan is still open.
+      executor
+          .submit(() -> loanService.repayLoans(List.of(payment("50.00"))))
+          .get(1, TimeUnit.SECONDS);
+    } finally {
+      commit.countDown();
+      executor.shutdown();
+    }
+    open.get(5, TimeUnit.SECONDS);
+
+    assertThat(loanService.fetchLoan(MOBILE_NUMBER).getAmountPaid()).isEqualTo(Money.of("150.00"));
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static LoanPaymentDto payment(String amount) {
+    LoanPaymentDto loanPaymentDto = new LoanPaymentDto();
+    loanPaymentDto.setMobileNumber(MOBILE_NUMBER);
+    loanPaymentDto.setAmount(Money.of(amount));
+    return loanPaymentDto;
+  }
+}
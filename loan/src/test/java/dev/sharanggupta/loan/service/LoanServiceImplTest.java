@@ -0,0 +1,304 @@
+package dev.sharanggupta.loan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.sharanggupta.loan.audit.AuditAwareImpl;
+import dev.sharanggupta.loan.cache.LoanSnapshotCache;
+import dev.sharanggupta.loan.config.LoanPaymentProperties;
+import dev.sharanggupta.loan.dto.LoanDto;
+import dev.sharanggupta.loan.dto.LoanPaymentDto;
+import dev.sharanggupta.loan.dto.LoanPortfolioDto;
+import dev.sharanggupta.loan.entity.Loan;
+import dev.sharanggupta.loan.exception.LoanAlreadyExistsException;
+import dev.sharanggupta.loan.exception.ResourceNotFoundException;
+import dev.sharanggupta.loan.mapper.LoanMapper;
+import dev.sharanggupta.loan.money.Money;
+import dev.sharanggupta.loan.repository.LoanPaymentRepository;
+import dev.sharanggupta.loan.repository.LoanRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.PathDestinationFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest(
+    properties = {
+      "spring.cloud.config.enabled=false",
+      "spring.datasource.url=jdbc:h2:mem:loandb;MODE=MySQL",
+      "spring.jpa.hibernate.ddl-auto=none",
+      "spring.jpa.properties.hibernate.generate_statistics=true",
+      "loan-payment.snapshot-every=5"
+    })
+@Import({
+  LoanServiceImpl.class,
+  LoanSnapshotCache.class,
+  AuditAwareImpl.class,
+  LoanServiceImplTest.CacheTestConfig.class
+})
+// Run without a test transaction so every repository call commits on its own, as in production.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LoanServiceImplTest {
+
+  private static final String MOBILE_NUMBER = "9234567890";
+
+  @Autowired private LoanRepository loanRepository;
+  @Autowired private LoanPaymentRepository loanPaymentRepository;
+  @Autowired private LoanServiceImpl loanService;
+  @Autowired private CacheManager cacheManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  private Statistics statistics;
+
+  @TestConfiguration
+  @EnableCaching
+  @EnableConfigurationProperties(LoanPaymentProperties.class)
+  static class CacheTestConfig {
+    @Bean
+    CacheManager cacheManager() {
+      return new ConcurrentMapCacheManager(LoanSnapshotCache.CACHE_NAME);
+    }
+
+    @Bean
+    BusProperties busProperties() {
+      return new BusProperties();
+    }
+
+    @Bean
+    Destination.Factory destinationFactory() {
+      return new PathDestinationFactory();
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    loanRepository.deleteAll();
+    loanPaymentRepository.deleteAll();
+    cacheManager.getCache(LoanSnapshotCache.CACHE_NAME).clear();
+    loanService.createLoan(MOBILE_NUMBER);
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void rejectsASecondLoanForTheMobileNumberWithTheInsertAlone() {
+    assertThatThrownBy(() -> loanService.createLoan(MOBILE_NUMBER))
+        .isInstanceOf(LoanAlreadyExistsException.class);
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(loanRepository.count()).isEqualTo(1);
+  }
+
+  @Test
+  void updatingInPlaceTakesOneStatementWhereReplacingTheWholeRowTakesThree() {
+    LoanDto loanDto = updatedLoan();
+    Loan currentLoan = loanRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+    Loan updatedLoan = LoanMapper.mapToLoan(loanDto, new Loan());
+    updatedLoan.setLoanId(currentLoan.getLoanId());
+    loanRepository.save(updatedLoan);
+
+    // The lookup, the select of the merge and the update.
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    statistics.clear();
+
+    transactionTemplate.executeWithoutResult(
+        status ->
+            loanRepository.updateByMobileNumber(
+                MOBILE_NUMBER,
+                loanDto.getLoanNumber(),
+                loanDto.getLoanType(),
+                loanDto.getTotalAmount().minorUnits(),
+                loanDto.getAmountPaid().minorUnits(),
+                LocalDateTime.now(),
+                "LOAN_MS"));
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void updatesTheLoanInPlaceUnderItsLock() {
+    LocalDateTime createdAt =
+        loanRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow().getCreatedAt();
+    statistics.clear();
+
+    loanService.updateLoan(updatedLoan());
+
+    // The locking select and the update.
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    Loan loan = loanRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+    assertThat(loan.getLoanType()).isEqualTo("Home Loan");
+    assertThat(loan.getAmountPaid()).isEqualTo(2_500_00);
+    assertThat(loan.getCreatedAt()).isEqualTo(createdAt);
+    assertThat(loan.getCreatedBy()).isEqualTo("admin");
+    assertThat(loan.getUpdatedBy()).isEqualTo("LOAN_MS");
+  }
+
+  @Test
+  void throwsWhenNoLoanExistsForTheMobileNumber() {
+    LoanDto loanDto = updatedLoan();
+    loanDto.setMobileNumber("9000000000");
+
+    assertThatThrownBy(() -> loanService.updateLoan(loanDto))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  void repaymentsAddUpWithoutRewritingTheLoan() {
+    loanService.repayLoans(
+        List.of(
+            payment(MOBILE_NUMBER, "1000.00"),
+            payment(MOBILE_NUMBER, "250.10"),
+            payment(MOBILE_NUMBER, "49.90")));
+
+    assertThat(loanService.fetchLoan(MOBILE_NUMBER).getAmountPaid()).isEqualTo(Money.of("1300.00"));
+    assertThat(loanRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow().getAmountPaid())
+        .isZero();
+    assertThat(loanService.fetchPayments(MOBILE_NUMBER))
+        .extracting(LoanPaymentDto::getAmount)
+        .containsExactly(Money.of("1000.00"), Money.of("250.10"), Money.of("49.90"));
+  }
+
+  @Test
+  void fetchingACachedLoanTakesASingleStatement() {
+    loanService.repayLoans(List.of(payment(MOBILE_NUMBER, "100.00")));
+    loanService.fetchLoan(MOBILE_NUMBER);
+    statistics.clear();
+
+    LoanDto loanDto = loanService.fetchLoan(MOBILE_NUMBER);
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(loanDto.getAmountPaid()).isEqualTo(Money.of("100.00"));
+  }
+
+  @Test
+  void foldsPaymentsIntoASnapshotOnceEnoughHavePiledUp() {
+    for (int i = 0; i < 5; i++) {
+      loanService.repayLoans(List.of(payment(MOBILE_NUMBER, "100.00")));
+    }
+
+    Loan loan = loanRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+    assertThat(loan.getAmountPaid()).isEqualTo(500_00);
+    assertThat(loan.getLastPaymentId()).isPositive();
+    loanService.repayLoans(List.of(payment(MOBILE_NUMBER, "100.00")));
+    assertThat(loanService.fetchLoan(MOBILE_NUMBER).getAmountPaid()).isEqualTo(Money.of("600.00"));
+    assertThat(loanService.fetchLoans(List.of(MOBILE_NUMBER)))
+        .extracting(LoanDto::getAmountPaid)
+        .containsExactly(Money.of("600.00"));
+  }
+
+  @Test
+  void updatingTheAmountPaidReplacesEarlierPayments() {
+    loanService.repayLoans(List.of(payment(MOBILE_NUMBER, "100.00")));
+    LoanDto loanDto = updatedLoan();
+    loanDto.setAmountPaid(Money.of("500.00"));
+    loanService.updateLoan(loanDto);
+    loanService.repayLoans(List.of(payment(MOBILE_NUMBER, "50.00")));
+
+    assertThat(loanService.fetchLoan(MOBILE_NUMBER).getAmountPaid()).isEqualTo(Money.of("550.00"));
+  }
+
+  @Test
+  void concurrentRepaymentsAreNeverLost() throws InterruptedException {
+    int threads = 16;
+    int paymentsPerThread = 20;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    for (int i = 0; i < threads; i++) {
+      executor.submit(
+          () -> {
+            start.await();
+            for (int j = 0; j < paymentsPerThread; j++) {
+              loanService.repayLoans(List.of(payment(MOBILE_NUMBER, "10.00")));
+            }
+            return null;
+          });
+    }
+    start.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+    assertThat(loanService.fetchLoan(MOBILE_NUMBER).getAmountPaid()).isEqualTo(Money.of("3200.00"));
+    assertThat(loanService.fetchLoans(List.of(MOBILE_NUMBER)))
+        .extracting(LoanDto::getAmountPaid)
+        .containsExactly(Money.of("3200.00"));
+  }
+
+  @Test
+  void evictsTheCachedLoanOnlyOnceTheUpdateCommits() {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          loanService.updateLoan(updatedLoan());
+          // A read before the commit still sees the old row, and caches it.
+          assertThat(
+                  CompletableFuture.supplyAsync(() -> loanService.fetchLoan(MOBILE_NUMBER))
+                      .join()
+                      .getAmountPaid())
+              .isEqualTo(Money.of("0.00"));
+        });
+
+    assertThat(loanService.fetchLoan(MOBILE_NUMBER).getAmountPaid()).isEqualTo(Money.of("2500.00"));
+  }
+
+  @Test
+  void deletingALoanDeletesItsPayments() {
+    loanService.repayLoans(List.of(payment(MOBILE_NUMBER, "100.00")));
+
+    loanService.deleteLoan(MOBILE_NUMBER);
+
+    assertThat(loanRepository.count()).isZero();
+    assertThat(loanPaymentRepository.count()).isZero();
+  }
+
+  @Test
+  void sumsAmountsExactlyPerLoanTypeIncludingPendingPayments() {
+    loanService.createLoan("9000000001");
+    for (int i = 0; i < 6; i++) {
+      loanService.repayLoans(List.of(payment(MOBILE_NUMBER, "0.10")));
+    }
+    loanService.repayLoans(List.of(payment("9000000001", "0.20")));
+
+    assertThat(loanService.fetchPortfolio())
+        .containsExactly(
+            new LoanPortfolioDto("Personal", 2, Money.of("200000.00"), Money.of("0.80")));
+  }
+
+  private static LoanPaymentDto payment(String mobileNumber, String amount) {
+    LoanPaymentDto loanPaymentDto = new LoanPaymentDto();
+    loanPaymentDto.setMobileNumber(mobileNumber);
+    loanPaymentDto.setAmount(Money.of(amount));
+    return loanPaymentDto;
+  }
+
+  private static LoanDto updatedLoan() {
+    LoanDto loanDto = new LoanDto();
+    loanDto.setMobileNumber(MOBILE_NUMBER);
+    loanDto.setLoanNumber("1234567887654321");
+    loanDto.setLoanType("Home Loan");
+    loanDto.setTotalAmount(Money.of("100000.00"));
+    loanDto.setAmountPaid(Money.of("2500.00"));
+    return loanDto;
+  }
+}